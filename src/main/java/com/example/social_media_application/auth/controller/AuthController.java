@@ -55,4 +55,18 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", user));
     }
 
+    @PutMapping("/me")
+    public ResponseEntity<ApiResponse<UserResponse>> updateProfile(
+            Authentication authentication,
+            @Valid @RequestBody UpdateProfileRequest request) {
+        UserResponse user = authService.updateProfile(authentication.getName(), request);
+        return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", user));
+    }
+
+    @DeleteMapping("/me")
+    public ResponseEntity<ApiResponse<Void>> deactivate(Authentication authentication) {
+        authService.deactivate(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Account deactivated", null));
+    }
+
 }
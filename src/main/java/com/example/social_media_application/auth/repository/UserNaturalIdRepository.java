@@ -0,0 +1,13 @@
+package com.example.social_media_application.auth.repository;
+
+import com.example.social_media_application.auth.model.User;
+
+import java.util.Optional;
+
+/**
+ * Email lookups through Hibernate's natural-id API instead of a query, so repeated
+ * lookups (one per authenticated request) are served from the second-level cache.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByEmail(String email);
+}
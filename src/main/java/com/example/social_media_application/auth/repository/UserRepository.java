@@ -1,13 +1,27 @@
 package com.example.social_media_application.auth.repository;
 
+import com.example.social_media_application.auth.dto.UserResponse;
 import com.example.social_media_application.auth.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+// findByEmail is implemented by UserNaturalIdRepository
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Id only, for read paths that never touch the entity
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Public profile columns of several users, for the author summary cache
+    @Query("SELECT new com.example.social_media_application.auth.dto.UserResponse(" +
+            "u.id, u.firstName, u.lastName, u.email, u.createdAt) FROM User u WHERE u.id IN :ids")
+    List<UserResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -4,10 +4,13 @@ import com.example.social_media_application.auth.model.RefreshToken;
 import com.example.social_media_application.auth.model.User;
 import com.example.social_media_application.auth.repository.RefreshTokenRepository;
 import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.comment.repository.CommentRepository;
 import com.example.social_media_application.config.JwtConfig;
 import com.example.social_media_application.exception.DuplicateResourceException;
 import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.post.repository.PostRepository;
 import com.example.social_media_application.security.JwtUtil;
+import com.example.social_media_application.user.service.UserSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,11 +32,15 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final JwtConfig jwtConfig;
+    private final UserCacheInvalidator userCacheInvalidator;
+    private final UserSearchIndex userSearchIndex;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -54,6 +61,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        userSearchIndex.userChanged(user.getId());
         log.info("User registered successfully with ID: {}", user.getId());
 
         // Generate tokens
@@ -124,9 +132,46 @@ public class AuthService {
     }
 
     @Transactional
-    public void cleanupExpiredTokens() {
-        int deleted = refreshTokenRepository.deleteByExpiryDateBefore(LocalDateTime.now());
-        log.info("Cleaned up {} expired refresh tokens", deleted);
+    public UserResponse updateProfile(String email, UpdateProfileRequest request) {
+        log.info("Updating profile for user: {}", email);
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        boolean renamed = !user.getFirstName().equals(request.getFirstName())
+                || !user.getLastName().equals(request.getLastName());
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        if (renamed) {
+            // The name is embedded in every post and comment response; ETags and snapshots key on change_seq
+            postRepository.renumberByUserId(user.getId());
+            commentRepository.renumberByUserId(user.getId());
+        }
+        userCacheInvalidator.userChanged(user.getId());
+        userSearchIndex.userChanged(user.getId());
+
+        return UserResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+
+    @Transactional
+    public void deactivate(String email) {
+        log.info("Deactivating account: {}", email);
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // Access tokens stop working once every node has evicted the cached user
+        user.setIsActive(false);
+        refreshTokenRepository.deleteByUser(user);
+        userCacheInvalidator.userChanged(user.getId());
+        userSearchIndex.userChanged(user.getId());
+        log.info("Account deactivated: {}", email);
     }
 
     private RefreshToken createRefreshToken(User user) {
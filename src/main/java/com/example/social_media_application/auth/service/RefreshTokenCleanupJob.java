@@ -0,0 +1,70 @@
+package com.example.social_media_application.auth.service;
+
+import com.example.social_media_application.common.scheduler.ClusterJob;
+import com.example.social_media_application.common.scheduler.JobContext;
+import com.example.social_media_application.config.SchedulerConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deletes expired refresh tokens. Shard {@code n} owns the tokens whose id modulo the
+ * shard count is {@code n}; each batch deletes the next ids after the checkpoint and
+ * saves the highest id deleted, so no statement holds locks for long and a crashed run
+ * does not rescan what it already deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenCleanupJob implements ClusterJob {
+
+    private static final String DELETE_SQL = "WITH batch AS ("
+            + "SELECT id FROM refresh_tokens WHERE id > ? AND mod(id, ?) = ? AND expiry_date < ? ORDER BY id LIMIT ?) "
+            + "DELETE FROM refresh_tokens t USING batch WHERE t.id = batch.id RETURNING t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerConfig config;
+
+    @Override
+    public String getName() {
+        return "refresh-token-cleanup";
+    }
+
+    @Override
+    public String getCron() {
+        return config.getRefreshTokenCleanupCron();
+    }
+
+    @Override
+    public int getShards() {
+        return config.getRefreshTokenCleanupShards();
+    }
+
+    @Override
+    public void run(JobContext context) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int batchSize = config.getRefreshTokenCleanupBatchSize();
+        long after = context.getCheckpointAsLong(0);
+        int deleted = 0;
+        while (!context.isStopping()) {
+            List<Long> ids = jdbcTemplate.queryForList(DELETE_SQL, Long.class,
+                    after, context.getShards(), context.getShard(), now, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = Collections.max(ids);
+            deleted += ids.size();
+            context.saveCheckpoint(after);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        log.info("Deleted {} expired refresh tokens in shard {}", deleted, context.getShard());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.social_media_application.auth.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.common.cache.InvalidationBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the per-node user caches (Hibernate's User region and the author summaries)
+ * consistent across nodes through the {@link InvalidationBus}. Every node, this one
+ * included, evicts a changed user only after the changing transaction commits. The
+ * email natural-id mapping is immutable and never needs eviction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidator {
+
+    static final String REGION = "users";
+
+    private final InvalidationBus invalidationBus;
+    private final UserSummaryCache userSummaryCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(REGION, this::evict, this::evictAll);
+    }
+
+    /** Call inside the transaction that modifies the user. */
+    public void userChanged(Long userId) {
+        invalidationBus.invalidate(REGION, userId);
+    }
+
+    private void evict(String key) {
+        Long userId = Long.valueOf(key);
+        entityManagerFactory.getCache().evict(User.class, userId);
+        userSummaryCache.evict(userId);
+        log.debug("Evicted cached user {}", userId);
+    }
+
+    private void evictAll() {
+        entityManagerFactory.getCache().evict(User.class);
+        userSummaryCache.evictAll();
+        log.info("Evicted all cached users");
+    }
+}
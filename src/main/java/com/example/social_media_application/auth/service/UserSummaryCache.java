@@ -0,0 +1,79 @@
+package com.example.social_media_application.auth.service;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.UserCacheConfig;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Author summaries ({@link UserResponse}) by user id, for rendering posts, comments,
+ * likes and notifications without initialising User proxies. Misses are loaded in bulk
+ * with a projection query. Entries are evicted on profile changes by UserCacheInvalidator
+ * and expire after {@code summary-ttl-seconds} as a safety net. Cached instances are
+ * shared and must not be modified.
+ */
+@Component
+public class UserSummaryCache {
+
+    private final LoadingCache<Long, UserResponse> cache;
+
+    public UserSummaryCache(UserRepository userRepository, UserCacheConfig config, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getSummaryMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(config.getSummaryTtlSeconds()))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UserResponse load(Long userId) {
+                        List<UserResponse> found = userRepository.findSummariesByIdIn(List.of(userId));
+                        return found.isEmpty() ? null : found.get(0);
+                    }
+
+                    @Override
+                    public Map<Long, UserResponse> loadAll(Set<? extends Long> userIds) {
+                        return userRepository.findSummariesByIdIn(List.copyOf(userIds)).stream()
+                                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-summaries");
+    }
+
+    /** The user's summary, or null if the user does not exist. */
+    public UserResponse get(Long userId) {
+        return userId == null ? null : cache.get(userId);
+    }
+
+    /** Summaries in the order of {@code userIds}, loading all misses in one query. */
+    public List<UserResponse> getAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserResponse> found = cache.getAll(userIds);
+        return userIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -3,13 +3,16 @@ package com.example.social_media_application.comment.controller;
 import com.example.social_media_application.auth.dto.UserResponse;
 import com.example.social_media_application.comment.dto.CommentRequest;
 import com.example.social_media_application.comment.dto.CommentResponse;
+import com.example.social_media_application.comment.repository.CommentsVersion;
 import com.example.social_media_application.comment.service.CommentService;
+import com.example.social_media_application.common.web.ConditionalRequests;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +21,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ConditionalRequests conditionalRequests;
 
     @PostMapping("/posts/{postId}/comments")
     public ResponseEntity<CommentResponse> createComment(@PathVariable Long postId,
@@ -29,14 +33,28 @@ public class CommentController {
 
     @GetMapping("/posts/{postId}/comments")
     public ResponseEntity<List<CommentResponse>> getCommentsForPost(@PathVariable Long postId,
-                                                                    @AuthenticationPrincipal UserDetails userDetails) {
-        List<CommentResponse> responses = commentService.getCommentsByPost(postId, userDetails.getUsername());
+                                                                    @AuthenticationPrincipal UserDetails userDetails,
+                                                                    WebRequest webRequest) {
+        CommentsVersion version = commentService.getCommentsVersion(postId, userDetails.getUsername());
+        if (conditionalRequests.checkNotModified(webRequest, "comments.list", commentService.getCommentsEtag(postId, version))) {
+            return null;
+        }
+        if (version == null) {
+            // Missing or hidden: the regular read reports which
+            return ResponseEntity.ok(commentService.getCommentsByPost(postId, userDetails.getUsername()));
+        }
+        List<CommentResponse> responses = commentService.getCommentsByPost(postId, version);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/comments/{id}")
     public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id,
-                                                          @AuthenticationPrincipal UserDetails userDetails) {
+                                                          @AuthenticationPrincipal UserDetails userDetails,
+                                                          WebRequest webRequest) {
+        String etag = commentService.getCommentEtag(id, userDetails.getUsername());
+        if (conditionalRequests.checkNotModified(webRequest, "comments.get", etag)) {
+            return null;
+        }
         CommentResponse response = commentService.getCommentById(id, userDetails.getUsername());
         return ResponseEntity.ok(response);
     }
@@ -80,7 +98,13 @@ public class CommentController {
 
     @GetMapping("/comments/{id}/replies")
     public ResponseEntity<List<CommentResponse>> getRepliesToComment(@PathVariable Long id,
-                                                                     @AuthenticationPrincipal UserDetails userDetails) {
+                                                                     @AuthenticationPrincipal UserDetails userDetails,
+                                                                     WebRequest webRequest) {
+        String etag = commentService.getCommentEtag(id, userDetails.getUsername());
+        // Replies share the comment's version but are a different representation
+        if (conditionalRequests.checkNotModified(webRequest, "comments.replies", etag == null ? null : etag + "-replies")) {
+            return null;
+        }
         List<CommentResponse> responses = commentService.getReplies(id, userDetails.getUsername());
         return ResponseEntity.ok(responses);
     }
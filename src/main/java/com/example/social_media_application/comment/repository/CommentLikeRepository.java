@@ -3,9 +3,13 @@ package com.example.social_media_application.comment.repository;
 import com.example.social_media_application.auth.model.User;
 import com.example.social_media_application.comment.model.Comment;
 import com.example.social_media_application.comment.model.CommentLike;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,22 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
     boolean existsByCommentAndUser(Comment comment, User user);
     List<CommentLike> findByComment(Comment comment);
     void deleteByCommentAndUser(Comment comment, User user);
+
+    // Likers of every comment on a post as projections, oldest like first
+    @Query("SELECT new com.example.social_media_application.comment.repository.CommentLikerRow(" +
+            "l.comment.id, u.id, u.firstName, u.lastName, u.email, u.createdAt) " +
+            "FROM CommentLike l JOIN l.user u WHERE l.comment.post.id = :postId ORDER BY l.id")
+    List<CommentLikerRow> findLikerRowsByPostId(@Param("postId") Long postId);
+
+    // Likes of several comments with the liking users, in one query
+    @Query("SELECT l FROM CommentLike l JOIN FETCH l.user WHERE l.comment.id IN :commentIds")
+    List<CommentLike> findWithUserByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    // Which of the given comments the user has liked
+    @Query("SELECT l.comment.id FROM CommentLike l WHERE l.user.id = :userId AND l.comment.id IN :commentIds")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
+    // Every comment the user has liked, up to limit, for the viewer likes cache
+    @Query("SELECT l.comment.id FROM CommentLike l WHERE l.user.id = :userId")
+    List<Long> findCommentIdsByUserId(@Param("userId") Long userId, Limit limit);
 }
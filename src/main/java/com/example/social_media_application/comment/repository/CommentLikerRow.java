@@ -0,0 +1,12 @@
+package com.example.social_media_application.comment.repository;
+
+import java.time.LocalDateTime;
+
+/** A like on a comment, as the liking user's public columns. */
+public record CommentLikerRow(Long commentId,
+                              Long userId,
+                              String firstName,
+                              String lastName,
+                              String email,
+                              LocalDateTime createdAt) {
+}
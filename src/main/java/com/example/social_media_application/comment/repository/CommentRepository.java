@@ -3,11 +3,14 @@ package com.example.social_media_application.comment.repository;
 import com.example.social_media_application.comment.model.Comment;
 import com.example.social_media_application.post.model.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -21,7 +24,44 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Get all comments for a post (including replies)
     List<Comment> findByPostOrderByCreatedAtAsc(Post post);
 
+    // Load a comment with its author in one query
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id = :id")
+    Optional<Comment> findWithUserById(@Param("id") Long id);
+
+    // Load several comments with their authors in one query
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN :ids")
+    List<Comment> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // All comments of a post with author columns, as projections in creation order
+    @Query("SELECT new com.example.social_media_application.comment.repository.CommentRow(" +
+            "c.id, c.post.id, c.parentComment.id, u.id, u.firstName, u.lastName, u.email, u.createdAt, " +
+            "c.content, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.user u WHERE c.post.id = :postId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentRow> findRowsByPostId(@Param("postId") Long postId);
+
     // Count comments for a post
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post = :post")
     long countByPost(@Param("post") Post post);
+
+    // Comment counts for several posts at once, as [postId, count] rows; posts without comments are absent
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Version of all comments on a post, for a viewer who can see it; adds and deletes bump the post itself
+    @Query(value = "SELECT p.change_seq || '.' || coalesce((SELECT max(c.change_seq) FROM comments c WHERE c.post_id = p.id), 0) " +
+            "AS version, u.id AS \"viewerId\" FROM posts p, users u " +
+            "WHERE p.id = :postId AND u.email = :email AND (p.is_public = true OR p.user_id = u.id)", nativeQuery = true)
+    Optional<CommentsVersion> findCommentsVersion(@Param("postId") Long postId, @Param("email") String email);
+
+    // Same version, looked up through one of the post's comments
+    @Query(value = "SELECT p.change_seq || '.' || coalesce((SELECT max(c.change_seq) FROM comments c WHERE c.post_id = p.id), 0) " +
+            "|| '-' || u.id FROM posts p, users u " +
+            "WHERE p.id = (SELECT c.post_id FROM comments c WHERE c.id = :commentId) " +
+            "AND u.email = :email AND (p.is_public = true OR p.user_id = u.id)", nativeQuery = true)
+    Optional<String> findCommentsVersionByCommentId(@Param("commentId") Long commentId, @Param("email") String email);
+
+    // Renumbers an author's comments, so versions built from change_seq pick up a new author name
+    @Modifying
+    @Query(value = "UPDATE comments SET change_seq = nextval('change_seq') WHERE user_id = :userId", nativeQuery = true)
+    int renumberByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,20 @@
+package com.example.social_media_application.comment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The comment and author columns a CommentResponse needs, selected with a JPQL
+ * constructor expression. Rows are plain values: nothing is attached to the persistence context.
+ */
+public record CommentRow(Long id,
+                         Long postId,
+                         Long parentCommentId,
+                         Long userId,
+                         String userFirstName,
+                         String userLastName,
+                         String userEmail,
+                         LocalDateTime userCreatedAt,
+                         String content,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt) {
+}
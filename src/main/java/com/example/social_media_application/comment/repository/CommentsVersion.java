@@ -0,0 +1,7 @@
+package com.example.social_media_application.comment.repository;
+
+/** Version of all comments on a post, and the id of the viewer it was looked up for. */
+public interface CommentsVersion {
+    String getVersion();
+    Long getViewerId();
+}
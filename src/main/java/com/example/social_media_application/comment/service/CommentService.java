@@ -3,22 +3,42 @@ package com.example.social_media_application.comment.service;
 import com.example.social_media_application.auth.dto.UserResponse;
 import com.example.social_media_application.auth.model.User;
 import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.auth.service.UserSummaryCache;
 import com.example.social_media_application.comment.dto.CommentRequest;
 import com.example.social_media_application.comment.dto.CommentResponse;
 import com.example.social_media_application.comment.model.Comment;
 import com.example.social_media_application.comment.model.CommentLike;
 import com.example.social_media_application.comment.repository.CommentLikeRepository;
+import com.example.social_media_application.comment.repository.CommentLikerRow;
 import com.example.social_media_application.comment.repository.CommentRepository;
+import com.example.social_media_application.comment.repository.CommentRow;
+import com.example.social_media_application.comment.repository.CommentsVersion;
+import com.example.social_media_application.common.concurrent.SingleFlight;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventPublisher;
 import com.example.social_media_application.exception.ResourceNotFoundException;
 import com.example.social_media_application.exception.UnauthorizedException;
 import com.example.social_media_application.post.model.Post;
+import com.example.social_media_application.post.repository.PostAccess;
 import com.example.social_media_application.post.repository.PostRepository;
+import com.example.social_media_application.post.service.ViewerLikesCache;
+import com.example.social_media_application.user.service.MentionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +50,31 @@ public class CommentService {
     private final CommentLikeRepository commentLikeRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final MentionService mentionService;
+    private final UserSummaryCache userSummaryCache;
+    private final ViewerLikesCache viewerLikesCache;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate readOnlyTransaction;
+    private SingleFlight<ThreadRead, CommentThread> threadReads;
+
+    /** A read of a post's comments at the version its reader saw; null when the reader has none. */
+    private record ThreadRead(Long postId, String version) {
+    }
+
+    /** Everything a post's comment list needs that does not depend on the viewer. */
+    private record CommentThread(PostAccess access, List<CommentRow> rows,
+                                 Map<Long, List<CommentLikerRow>> likersByComment) {
+    }
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        threadReads = new SingleFlight<>("comments.by-post", meterRegistry);
+    }
 
     @Transactional
     public CommentResponse createComment(Long postId, CommentRequest request, String userEmail) {
@@ -60,26 +105,65 @@ public class CommentService {
         comment = commentRepository.save(comment);
         log.info("Comment created with ID: {}", comment.getId());
 
-        return mapToCommentResponse(comment, user);
+        publishCommentEvent(DomainEventType.COMMENT_CREATED, comment, user);
+        mentionService.publishMentions(postId, comment.getId(), post.getIsPublic(), null, comment.getContent(), user.getId());
+
+        return mapToCommentResponse(comment, false);
     }
 
-    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByPost(Long postId, String userEmail) {
         log.info("Fetching comments for post: {}", postId);
+        return readThread(new ThreadRead(postId, null), getUserIdByEmail(userEmail));
+    }
 
-        User currentUser = getUserByEmail(userEmail);
-        Post post = getPostOrThrow(postId);
+    /**
+     * {@link #getCommentsByPost(Long, String)} for a viewer whose {@link #getCommentsVersion}
+     * is already loaded. The comments are never older than that version, so they may be
+     * sent under its ETag.
+     */
+    public List<CommentResponse> getCommentsByPost(Long postId, CommentsVersion version) {
+        log.info("Fetching comments for post: {}", postId);
+        return readThread(new ThreadRead(postId, version.getVersion()), version.getViewerId());
+    }
 
-        if (!post.getIsPublic() && !post.getUser().getId().equals(currentUser.getId())) {
+    /**
+     * Concurrent reads of the same post's comments share one load of the thread; the
+     * tree is then built per viewer. Only readers that saw the same version share a load,
+     * so a load started before a write never answers a reader holding the post-write
+     * ETag. Runs without a surrounding transaction so waiting readers hold no connection.
+     */
+    private List<CommentResponse> readThread(ThreadRead read, Long currentUserId) {
+        Long postId = read.postId();
+        CommentThread thread = threadReads.execute(read, () -> readOnlyTransaction.execute(status -> loadThread(postId)));
+
+        PostAccess access = thread.access();
+        if (!access.isPublic() && !access.ownerId().equals(currentUserId)) {
             throw new UnauthorizedException("You don't have permission to view comments on this post");
         }
 
-        List<Comment> topLevelComments = commentRepository
-                .findByPostAndParentCommentIsNullOrderByCreatedAtAsc(post);
+        Map<Long, List<CommentResponse>> repliesByParent = new HashMap<>();
+        List<CommentResponse> topLevel = new ArrayList<>();
+        for (CommentRow row : thread.rows()) {
+            CommentResponse response = mapToCommentResponse(row, thread.likersByComment(), currentUserId);
+            if (row.parentCommentId() == null) {
+                topLevel.add(response);
+            } else {
+                repliesByParent.computeIfAbsent(row.parentCommentId(), id -> new ArrayList<>()).add(response);
+            }
+        }
+        // Only direct replies are nested under a top-level comment
+        topLevel.forEach(comment -> comment.setReplies(repliesByParent.getOrDefault(comment.getId(), new ArrayList<>())));
+        return topLevel;
+    }
 
-        return topLevelComments.stream()
-                .map(comment -> mapToCommentResponseWithReplies(comment, currentUser))
-                .collect(Collectors.toList());
+    // Three queries for the whole thread: visibility, comments with authors, and likers of every comment
+    private CommentThread loadThread(Long postId) {
+        PostAccess access = postRepository.findAccessById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
+        List<CommentRow> rows = commentRepository.findRowsByPostId(postId);
+        Map<Long, List<CommentLikerRow>> likersByComment = commentLikeRepository.findLikerRowsByPostId(postId).stream()
+                .collect(Collectors.groupingBy(CommentLikerRow::commentId));
+        return new CommentThread(access, rows, likersByComment);
     }
 
     @Transactional(readOnly = true)
@@ -108,10 +192,15 @@ public class CommentService {
             throw new UnauthorizedException("You don't have permission to update this comment");
         }
 
+        String previousContent = comment.getContent();
         comment.setContent(request.getContent());
         comment = commentRepository.save(comment);
         log.info("Comment updated successfully: {}", commentId);
 
+        publishCommentEvent(DomainEventType.COMMENT_UPDATED, comment, currentUser);
+        mentionService.publishMentions(comment.getPost().getId(), comment.getId(), comment.getPost().getIsPublic(),
+                previousContent, comment.getContent(), currentUser.getId());
+
         return mapToCommentResponse(comment, currentUser);
     }
 
@@ -126,6 +215,8 @@ public class CommentService {
             throw new UnauthorizedException("You don't have permission to delete this comment");
         }
 
+        publishCommentEvent(DomainEventType.COMMENT_DELETED, comment, currentUser);
+
         commentRepository.delete(comment);
         log.info("Comment deleted successfully: {}", commentId);
     }
@@ -146,18 +237,23 @@ public class CommentService {
 
         if (exists) {
             commentLikeRepository.deleteByCommentAndUser(comment, currentUser);
+            viewerLikesCache.commentLikeChanged(currentUser.getId(), commentId, false);
             log.info("Comment unliked: {}", commentId);
+            publishCommentEvent(DomainEventType.COMMENT_UNLIKED, comment, currentUser);
         } else {
             CommentLike commentLike = CommentLike.builder()
                     .comment(comment)
                     .user(currentUser)
                     .build();
             commentLikeRepository.save(commentLike);
+            viewerLikesCache.commentLikeChanged(currentUser.getId(), commentId, true);
             log.info("Comment liked: {}", commentId);
+            publishCommentEvent(DomainEventType.COMMENT_LIKED, comment, currentUser);
         }
 
+        // The cache only sees the change after commit
         comment = commentRepository.findById(commentId).orElseThrow();
-        return mapToCommentResponse(comment, currentUser);
+        return mapToCommentResponse(comment, !exists);
     }
 
     @Transactional(readOnly = true)
@@ -172,11 +268,9 @@ public class CommentService {
             throw new UnauthorizedException("You don't have permission to view likes for this comment");
         }
 
-        List<CommentLike> likes = commentLikeRepository.findByComment(comment);
-
-        return likes.stream()
-                .map(like -> mapToUserResponse(like.getUser()))
-                .collect(Collectors.toList());
+        return userSummaryCache.getAll(commentLikeRepository.findByComment(comment).stream()
+                .map(like -> like.getUser().getId())
+                .toList());
     }
 
     @Transactional
@@ -201,7 +295,10 @@ public class CommentService {
         reply = commentRepository.save(reply);
         log.info("Reply created with ID: {}", reply.getId());
 
-        return mapToCommentResponse(reply, user);
+        publishCommentEvent(DomainEventType.COMMENT_CREATED, reply, user);
+        mentionService.publishMentions(post.getId(), reply.getId(), post.getIsPublic(), null, reply.getContent(), user.getId());
+
+        return mapToCommentResponse(reply, false);
     }
 
     @Transactional(readOnly = true)
@@ -223,6 +320,94 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Version of the post's comments for this viewer, without loading them; null if the
+     * post is missing or not visible. Any comment change on the post changes it.
+     */
+    @Transactional(readOnly = true)
+    public CommentsVersion getCommentsVersion(Long postId, String userEmail) {
+        return commentRepository.findCommentsVersion(postId, userEmail).orElse(null);
+    }
+
+    /** Strong ETag of {@link #getCommentsByPost} for the viewer in {@code version}. */
+    public String getCommentsEtag(Long postId, CommentsVersion version) {
+        return version == null ? null : "comments-" + postId + "-" + version.getVersion() + "-" + version.getViewerId();
+    }
+
+    /** Strong ETag of {@link #getCommentById} and {@link #getReplies}, based on the comments of its post. */
+    @Transactional(readOnly = true)
+    public String getCommentEtag(Long commentId, String userEmail) {
+        return commentRepository.findCommentsVersionByCommentId(commentId, userEmail)
+                .map(version -> "comment-" + commentId + "-" + version)
+                .orElse(null);
+    }
+
+    /**
+     * Loads the given comments with their authors and likes in two queries and maps them,
+     * without replies, in the order of {@code commentIds}. Callers are expected to have
+     * applied visibility rules already; ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getCommentsInOrder(List<Long> commentIds, User currentUser) {
+        if (commentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Comment> comments = commentRepository.findAllWithUserByIdIn(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+
+        Map<Long, List<CommentLike>> likesByComment = commentLikeRepository.findWithUserByCommentIdIn(comments.keySet()).stream()
+                .collect(Collectors.groupingBy(like -> like.getComment().getId()));
+
+        return commentIds.stream()
+                .map(comments::get)
+                .filter(Objects::nonNull)
+                .map(comment -> {
+                    List<CommentLike> likes = likesByComment.getOrDefault(comment.getId(), List.of());
+                    return CommentResponse.builder()
+                            .id(comment.getId())
+                            .postId(comment.getPost().getId())
+                            .user(mapToUserResponse(comment.getUser()))
+                            .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+                            .content(comment.getContent())
+                            .likeCount(likes.size())
+                            .isLikedByCurrentUser(likes.stream()
+                                    .anyMatch(like -> like.getUser().getId().equals(currentUser.getId())))
+                            .likedBy(likes.stream()
+                                    .map(like -> mapToUserResponse(like.getUser()))
+                                    .collect(Collectors.toList()))
+                            .replies(null)
+                            .createdAt(comment.getCreatedAt())
+                            .updatedAt(comment.getUpdatedAt())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void publishCommentEvent(DomainEventType type, Comment comment, User actor) {
+        Post post = comment.getPost();
+        Comment parentComment = comment.getParentComment();
+
+        // New comments notify the post owner, replies the parent author; everything else the comment author
+        Long recipientId;
+        if (type != DomainEventType.COMMENT_CREATED) {
+            recipientId = comment.getUser().getId();
+        } else if (parentComment != null) {
+            recipientId = parentComment.getUser().getId();
+        } else {
+            recipientId = post.getUser().getId();
+        }
+
+        domainEventPublisher.publish(DomainEvent.builder()
+                .type(type)
+                .postId(post.getId())
+                .commentId(comment.getId())
+                .parentCommentId(parentComment != null ? parentComment.getId() : null)
+                .actorId(actor.getId())
+                .recipientId(recipientId)
+                .publicPost(post.getIsPublic())
+                .build());
+    }
+
     private Comment getCommentOrThrow(Long commentId) {
         return commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with ID: " + commentId));
@@ -238,17 +423,25 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    private Long getUserIdByEmail(String email) {
+        return userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+
     private CommentResponse mapToCommentResponse(Comment comment, User currentUser) {
-        boolean isLikedByCurrentUser = commentLikeRepository.existsByCommentAndUser(comment, currentUser);
+        return mapToCommentResponse(comment, viewerLikesCache.isCommentLiked(currentUser.getId(), comment.getId()));
+    }
 
-        List<UserResponse> likedBy = commentLikeRepository.findByComment(comment).stream()
-                .map(like -> mapToUserResponse(like.getUser()))
-                .collect(Collectors.toList());
+    private CommentResponse mapToCommentResponse(Comment comment, boolean isLikedByCurrentUser) {
+        // Only ids are read from the lazy User proxies; the summaries come from the cache
+        List<UserResponse> likedBy = userSummaryCache.getAll(commentLikeRepository.findByComment(comment).stream()
+                .map(like -> like.getUser().getId())
+                .toList());
 
         return CommentResponse.builder()
                 .id(comment.getId())
                 .postId(comment.getPost().getId())
-                .user(mapToUserResponse(comment.getUser()))
+                .user(userSummaryCache.get(comment.getUser().getId()))
                 .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
                 .content(comment.getContent())
                 .likeCount(comment.getLikeCount())
@@ -260,6 +453,38 @@ public class CommentService {
                 .build();
     }
 
+    private CommentResponse mapToCommentResponse(CommentRow row, Map<Long, List<CommentLikerRow>> likersByComment,
+                                                 Long currentUserId) {
+        List<CommentLikerRow> likers = likersByComment.getOrDefault(row.id(), List.of());
+        return CommentResponse.builder()
+                .id(row.id())
+                .postId(row.postId())
+                .user(UserResponse.builder()
+                        .id(row.userId())
+                        .firstName(row.userFirstName())
+                        .lastName(row.userLastName())
+                        .email(row.userEmail())
+                        .createdAt(row.userCreatedAt())
+                        .build())
+                .parentCommentId(row.parentCommentId())
+                .content(row.content())
+                .likeCount(likers.size())
+                .isLikedByCurrentUser(likers.stream().anyMatch(liker -> liker.userId().equals(currentUserId)))
+                .likedBy(likers.stream()
+                        .map(liker -> UserResponse.builder()
+                                .id(liker.userId())
+                                .firstName(liker.firstName())
+                                .lastName(liker.lastName())
+                                .email(liker.email())
+                                .createdAt(liker.createdAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .replies(null)
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     private CommentResponse mapToCommentResponseWithReplies(Comment comment, User currentUser) {
         CommentResponse response = mapToCommentResponse(comment, currentUser);
 
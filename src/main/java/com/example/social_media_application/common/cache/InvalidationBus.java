@@ -0,0 +1,215 @@
+package com.example.social_media_application.common.cache;
+
+import com.example.social_media_application.common.pg.PgNotifyHub;
+import com.example.social_media_application.config.CacheInvalidationConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node invalidation of per-node caches over Postgres NOTIFY.
+ *
+ * <p>Caches register a named region with a per-key and a whole-region eviction. An
+ * invalidation made inside a transaction is collected until commit and dropped on
+ * rollback. After commit the keys are evicted on this node at once and queued for the
+ * others. The queue coalesces repeated keys and is published every
+ * {@code flush-interval-ms} as compact {@code node region key,key,...} payloads on one
+ * channel. A region with more than {@code max-pending-keys} queued keys is sent as a
+ * whole-region flush instead.
+ *
+ * <p>Nodes skip their own messages. Messages sent while a node's listener was
+ * disconnected are lost, so on reconnect every region is flushed whole. A node that
+ * stops between commit and publish leaves the others stale until their cache TTLs
+ * expire.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    private static final String ALL = "*";
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private record Region(Consumer<String> evict, Runnable evictAll) {
+    }
+
+    private final PgNotifyHub pgNotifyHub;
+    private final CacheInvalidationConfig config;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 12);
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter received;
+
+    public InvalidationBus(PgNotifyHub pgNotifyHub, CacheInvalidationConfig config, MeterRegistry meterRegistry) {
+        this.pgNotifyHub = pgNotifyHub;
+        this.config = config;
+        this.published = meterRegistry.counter("cache.invalidation.messages", "direction", "published");
+        this.received = meterRegistry.counter("cache.invalidation.messages", "direction", "received");
+        meterRegistry.gauge("cache.invalidation.pending", pending, Map::size);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        pgNotifyHub.subscribe(CHANNEL, this::onNotification);
+        pgNotifyHub.onReconnect(this::evictAllRegions);
+    }
+
+    /** Registers a cache region; keys arrive as the strings they were invalidated with. */
+    public void register(String region, Consumer<String> evict, Runnable evictAll) {
+        if (region.contains(" ")) {
+            throw new IllegalArgumentException("Region names cannot contain spaces: " + region);
+        }
+        regions.put(region, new Region(evict, evictAll));
+    }
+
+    /** Evicts {@code key} from {@code region} on every node, after commit when inside a transaction. */
+    public void invalidate(String region, Object key) {
+        String value = key.toString();
+        if (value.isEmpty() || value.contains(",") || value.contains(" ") || ALL.equals(value)) {
+            throw new IllegalArgumentException("Invalid cache key: " + value);
+        }
+        enqueue(region, value);
+    }
+
+    /** Empties {@code region} on every node, after commit when inside a transaction. */
+    public void invalidateAll(String region) {
+        enqueue(region, ALL);
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.flush-interval-ms:50}")
+    public void flush() {
+        for (String region : pending.keySet()) {
+            Set<String> keys = pending.remove(region);
+            if (keys == null) {
+                continue;
+            }
+            try {
+                publish(region, keys);
+            } catch (DataAccessException e) {
+                log.warn("Publishing invalidations for {} failed, retrying next interval: {}", region, e.getMessage());
+                keys.forEach(key -> queue(region, key));
+            }
+        }
+    }
+
+    private void enqueue(String region, String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commit(Map.of(region, Set.of(key)));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Set<String>> collected = (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(this);
+        if (collected == null) {
+            Map<String, Set<String>> keys = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+                    if (status == STATUS_COMMITTED) {
+                        commit(keys);
+                    }
+                }
+            });
+            collected = keys;
+        }
+        collected.computeIfAbsent(region, r -> new HashSet<>()).add(key);
+    }
+
+    private void commit(Map<String, Set<String>> keys) {
+        keys.forEach((region, regionKeys) -> {
+            regionKeys.forEach(key -> evictLocally(region, key));
+            regionKeys.forEach(key -> queue(region, key));
+        });
+    }
+
+    private void queue(String region, String key) {
+        pending.compute(region, (r, keys) -> {
+            if (keys == null) {
+                keys = new HashSet<>();
+            } else if (keys.contains(ALL)) {
+                return keys;
+            }
+            if (ALL.equals(key) || keys.size() >= config.getMaxPendingKeys()) {
+                return new HashSet<>(Set.of(ALL));
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    private void publish(String region, Set<String> keys) {
+        String prefix = nodeId + " " + region + " ";
+        StringBuilder payload = new StringBuilder(prefix);
+        int bytes = prefix.getBytes(StandardCharsets.UTF_8).length;
+        boolean empty = true;
+        for (String key : keys) {
+            int keyBytes = key.getBytes(StandardCharsets.UTF_8).length;
+            if (!empty && bytes + keyBytes + 1 > MAX_PAYLOAD_BYTES) {
+                send(payload.toString());
+                payload.setLength(prefix.length());
+                bytes = prefix.getBytes(StandardCharsets.UTF_8).length;
+                empty = true;
+            }
+            if (!empty) {
+                payload.append(',');
+                bytes++;
+            }
+            payload.append(key);
+            bytes += keyBytes;
+            empty = false;
+        }
+        send(payload.toString());
+    }
+
+    private void send(String payload) {
+        pgNotifyHub.publish(CHANNEL, payload);
+        published.increment();
+    }
+
+    void onNotification(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        for (String key : parts[2].split(",")) {
+            evictLocally(parts[1], key);
+        }
+    }
+
+    private void evictLocally(String name, String key) {
+        Region region = regions.get(name);
+        if (region == null) {
+            return;
+        }
+        if (ALL.equals(key)) {
+            region.evictAll().run();
+        } else {
+            region.evict().accept(key);
+        }
+    }
+
+    private void evictAllRegions() {
+        regions.values().forEach(region -> region.evictAll().run());
+        log.info("Flushed {} cache regions after notification listener reconnect", regions.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.social_media_application.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: items due at a wall-clock time, expired in bulk as time
+ * is advanced. Scheduling and expiring cost O(1) per item regardless of how many are
+ * pending, where a priority queue pays O(log n) and a table scan pays for every row.
+ *
+ * <p>Each level has {@code 2^slotBits} slots; a slot on level {@code n} spans
+ * {@code tickMs * 2^(slotBits * n)}. An item sits on the lowest level whose slots cover
+ * its due time within the current block of the level above, and moves down a level
+ * each time time enters its slot, until it expires from level 0. Items beyond the top
+ * level wait in an overflow list that is re-placed once per top-level block.
+ *
+ * <p>Items expire on the first tick at or after their due time, never earlier. Not
+ * thread-safe; callers guard it with their own lock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private record Entry<T>(T item, long dueTick) {
+    }
+
+    private final long tickMs;
+    private final int slotBits;
+    private final int levels;
+    private final long mask;
+    private final List<List<Entry<T>>> buckets;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int slotBits, int levels, long startMs) {
+        if (tickMs < 1 || slotBits < 1 || levels < 1 || slotBits * levels > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMs = tickMs;
+        this.slotBits = slotBits;
+        this.levels = levels;
+        this.mask = (1L << slotBits) - 1;
+        this.buckets = new ArrayList<>(levels << slotBits);
+        for (int i = 0; i < levels << slotBits; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /** Adds {@code item}; false, and nothing is added, if it is already due. */
+    public boolean schedule(T item, long dueMs) {
+        long dueTick = Math.floorDiv(dueMs - 1, tickMs) + 1;
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(item, dueTick));
+        size++;
+        return true;
+    }
+
+    /** Moves time forward to {@code nowMs} and returns the items that fell due, oldest first. */
+    public List<T> advance(long nowMs) {
+        long nowTick = Math.floorDiv(nowMs, tickMs);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < nowTick) {
+            if (size == 0) {
+                currentTick = nowTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            List<Entry<T>> due = buckets.get((int) (currentTick & mask));
+            for (Entry<T> entry : due) {
+                expired.add(entry.item());
+            }
+            size -= due.size();
+            due.clear();
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < levels; level++) {
+            int parentShift = slotBits * (level + 1);
+            if (entry.dueTick() >>> parentShift == currentTick >>> parentShift) {
+                int slot = (int) ((entry.dueTick() >>> (slotBits * level)) & mask);
+                buckets.get((level << slotBits) + slot).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    // On entering a new block of a level, its slot's items are re-placed on the levels below,
+    // top level first so an item can drop several levels in one tick
+    private void cascade() {
+        if ((currentTick & ((1L << (slotBits * levels)) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> pending = new ArrayList<>(overflow);
+            overflow.clear();
+            pending.forEach(this::place);
+        }
+        for (int level = levels - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (slotBits * level)) - 1)) != 0) {
+                continue;
+            }
+            List<Entry<T>> bucket = buckets.get((level << slotBits) + (int) ((currentTick >>> (slotBits * level)) & mask));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> pending = new ArrayList<>(bucket);
+            bucket.clear();
+            pending.forEach(this::place);
+        }
+    }
+}
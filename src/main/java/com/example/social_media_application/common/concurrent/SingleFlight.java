@@ -0,0 +1,78 @@
+package com.example.social_media_application.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader and
+ * every caller arriving while it is in flight waits for and shares its result, or its
+ * exception. Nothing is cached; the next call after completion loads again.
+ *
+ * <p>Results are handed to several threads, so they must not be modified. Waiting
+ * parks on a future and is safe on virtual threads. Calls are counted as
+ * {@code singleflight.calls{name, role=leader|follower}}, with the share of followers
+ * as the {@code singleflight.coalescing.ratio} gauge.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("singleflight.calls", "name", name, "role", "leader");
+        this.followers = meterRegistry.counter("singleflight.calls", "name", name, "role", "follower");
+        Gauge.builder("singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /** Share of calls since startup that were served by another caller's load. */
+    public double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Followers see the leader's exception as if they had thrown it themselves
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
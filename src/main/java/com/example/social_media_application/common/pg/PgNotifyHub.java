@@ -0,0 +1,161 @@
+package com.example.social_media_application.common.pg;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node messaging over Postgres LISTEN/NOTIFY, so no external broker is needed.
+ * Publishing goes through the regular pool; listening uses one dedicated, unpooled
+ * connection that is re-established with backoff if it drops.
+ */
+@Component
+@Slf4j
+public class PgNotifyHub {
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    public PgNotifyHub(JdbcTemplate jdbcTemplate,
+                       @Value("${spring.datasource.url}") String url,
+                       @Value("${spring.datasource.username}") String username,
+                       @Value("${spring.datasource.password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Sends a notification. Inside a transaction Postgres holds it until commit
+     * and drops it on rollback; payloads must stay below 8000 bytes.
+     */
+    public void publish(String channel, String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+    }
+
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Called after the listening connection has been re-established; notifications
+     * sent while it was down are lost, so subscribers should resynchronise.
+     */
+    public void onReconnect(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (listeners.isEmpty() || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "pg-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1000;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : listeners.keySet()) {
+                        statement.execute("LISTEN \"" + channel + "\"");
+                    }
+                }
+                log.info("Listening for Postgres notifications on {}", listeners.keySet());
+
+                if (connectedBefore) {
+                    reconnectListeners.forEach(this::runSafely);
+                }
+                connectedBefore = true;
+                backoffMs = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Postgres notification listener disconnected, retrying in {} ms: {}", backoffMs, ex.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        List<Consumer<String>> channelListeners = listeners.get(channel);
+        if (channelListeners == null) {
+            return;
+        }
+        for (Consumer<String> listener : channelListeners) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException ex) {
+                log.error("Notification listener on {} failed", channel, ex);
+            }
+        }
+    }
+
+    private void runSafely(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException ex) {
+            log.error("Reconnect listener failed", ex);
+        }
+    }
+}
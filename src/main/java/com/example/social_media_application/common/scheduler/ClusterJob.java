@@ -0,0 +1,33 @@
+package com.example.social_media_application.common.scheduler;
+
+import java.time.Duration;
+
+/**
+ * A periodic job that {@link ClusterJobScheduler} runs once per cluster rather than once
+ * per node. Its work is split into {@link #getShards()} shards; each shard runs on at most
+ * one node at a time and keeps its progress in job_checkpoints, so a run cut short by a
+ * crash resumes where it stopped.
+ */
+public interface ClusterJob {
+
+    /** Stable, unique name; it keys the advisory locks and the checkpoints. */
+    String getName();
+
+    /** Spring cron expression, or null to run at {@link #getFixedRate()} instead. */
+    String getCron();
+
+    default Duration getFixedRate() {
+        return null;
+    }
+
+    default int getShards() {
+        return 1;
+    }
+
+    /**
+     * Processes one shard. Returning normally finishes it and clears its checkpoint,
+     * unless the node is shutting down; throwing keeps the last saved checkpoint for
+     * the next run.
+     */
+    void run(JobContext context);
+}
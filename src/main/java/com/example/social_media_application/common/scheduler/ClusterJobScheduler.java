@@ -0,0 +1,238 @@
+package com.example.social_media_application.common.scheduler;
+
+import com.example.social_media_application.config.SchedulerConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link ClusterJob} bean on its cron or fixed rate, on every node, while
+ * making sure each shard of a job runs on only one node at a time.
+ *
+ * <p>Before running a shard a node takes the session-level advisory lock
+ * {@code (hashtext(job), shard)} on a connection it holds for the whole run. Nodes that
+ * fail to take it skip the shard, and a crashed node's locks go away with its
+ * connection. Each node starts at a random shard, so with several nodes the shards of
+ * one firing spread across them instead of all going to the fastest.
+ *
+ * <p>Completing a shard records the firing's scheduled time in its checkpoint row. A node
+ * that takes the lock after another node finished the same firing finds it there and
+ * skips the shard: for a cron the same instant, for a fixed rate any firing within the
+ * last period, since each node counts its rate from its own start. Failed and
+ * interrupted runs record nothing, so the next node to get the lock resumes them.
+ *
+ * <p>The lock connection comes from the application's connection pool, and the job takes
+ * its own connections from the same pool while it holds it. If every pooled connection
+ * held a lock, the jobs would all wait for a connection that never frees up, so the job
+ * pool must be smaller than the connection pool. Startup fails otherwise.
+ *
+ * <p>Jobs run on a small pool of their own, apart from Spring's scheduling pool. Per job
+ * it records {@code scheduler.job.duration{job, outcome}} for every shard run and
+ * {@code scheduler.job.lag{job}}, how late a firing started.
+ */
+@Service
+@Slf4j
+public class ClusterJobScheduler {
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?), ?)";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?), ?)";
+
+    private final List<ClusterJob> jobs;
+    private final DataSource dataSource;
+    private final JobCheckpointStore checkpointStore;
+    private final SchedulerConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor executor;
+    private final int shardOffset = ThreadLocalRandom.current().nextInt(1 << 16);
+
+    public ClusterJobScheduler(List<ClusterJob> jobs,
+                               DataSource dataSource,
+                               JobCheckpointStore checkpointStore,
+                               SchedulerConfig config,
+                               MeterRegistry meterRegistry) {
+        this.jobs = jobs;
+        this.dataSource = dataSource;
+        this.checkpointStore = checkpointStore;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(config.getPoolSize(), runnable -> {
+            Thread thread = new Thread(runnable, "cluster-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("Cluster jobs disabled");
+            return;
+        }
+        int maxConnections = maxConnections();
+        if (maxConnections > 0 && config.getPoolSize() >= maxConnections) {
+            throw new IllegalStateException("scheduler.pool-size " + config.getPoolSize()
+                    + " must be below the connection pool size " + maxConnections
+                    + ": each running shard holds a connection for its lock while its job takes more");
+        }
+        Set<String> names = new HashSet<>();
+        for (ClusterJob job : jobs) {
+            if (!names.add(job.getName())) {
+                throw new IllegalStateException("Duplicate cluster job name: " + job.getName());
+            }
+            if ((job.getCron() == null) == (job.getFixedRate() == null)) {
+                throw new IllegalStateException("Cluster job " + job.getName() + " needs either a cron or a fixed rate");
+            }
+            if (job.getShards() < 1) {
+                throw new IllegalStateException("Cluster job " + job.getName() + " needs at least one shard");
+            }
+            // Whole milliseconds, so firing times survive the round trip through the checkpoint row
+            scheduleAfter(job, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        }
+        log.info("Scheduled cluster jobs {}", names);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleAfter(ClusterJob job, Instant after) {
+        Instant next = nextFireTime(job, after);
+        if (next == null) {
+            log.warn("Cron of cluster job {} never fires again", job.getName());
+            return;
+        }
+        // Nanosecond delay: a millisecond one is truncated and can fire just before next,
+        // and a cron would then pick the same instant again
+        long delayNanos = Math.max(0, Duration.between(Instant.now(), next).toNanos());
+        executor.schedule(() -> fire(job, next), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Instant nextFireTime(ClusterJob job, Instant after) {
+        if (job.getCron() != null) {
+            ZonedDateTime next = CronExpression.parse(job.getCron()).next(after.atZone(ZoneId.systemDefault()));
+            return next == null ? null : next.toInstant();
+        }
+        // Fixed rate keeps its cadence, but firings missed while a run overran are skipped
+        Instant next = after.plus(job.getFixedRate());
+        Instant now = Instant.now();
+        while (next.isBefore(now)) {
+            next = next.plus(job.getFixedRate());
+        }
+        return next;
+    }
+
+    private void fire(ClusterJob job, Instant scheduledAt) {
+        meterRegistry.timer("scheduler.job.lag", "job", job.getName())
+                .record(Duration.between(scheduledAt, Instant.now()));
+        try {
+            int shards = job.getShards();
+            for (int i = 0; i < shards && !Thread.currentThread().isInterrupted(); i++) {
+                runShard(job, (shardOffset + i) % shards, shards, scheduledAt);
+            }
+        } finally {
+            if (!executor.isShutdown()) {
+                scheduleAfter(job, job.getCron() != null ? Instant.now() : scheduledAt);
+            }
+        }
+    }
+
+    private void runShard(ClusterJob job, int shard, int shards, Instant scheduledAt) {
+        String name = job.getName();
+        // The lock belongs to this connection's session, so it is held until the run is done
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, LOCK_SQL, name, shard)) {
+                meterRegistry.counter("scheduler.job.skipped", "job", name).increment();
+                log.debug("Shard {} of {} is running on another node", shard, name);
+                return;
+            }
+            if (firedSince(job, checkpointStore.lastFiredAt(name, shard), scheduledAt)) {
+                advisoryLock(lockConnection, UNLOCK_SQL, name, shard);
+                meterRegistry.counter("scheduler.job.skipped", "job", name).increment();
+                log.debug("Shard {} of {} already ran for the firing at {}", shard, name, scheduledAt);
+                return;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "completed";
+            try {
+                JobContext context = new JobContext(name, shard, shards, scheduledAt,
+                        checkpointStore.begin(name, shard), checkpointStore);
+                job.run(context);
+                if (context.isStopping()) {
+                    outcome = "interrupted";
+                } else {
+                    checkpointStore.complete(name, shard, scheduledAt);
+                }
+            } catch (RuntimeException e) {
+                outcome = "failed";
+                log.warn("Shard {} of cluster job {} failed, resuming from its checkpoint next run: {}",
+                        shard, name, e.getMessage());
+            } finally {
+                sample.stop(meterRegistry.timer("scheduler.job.duration", "job", name, "outcome", outcome));
+                advisoryLock(lockConnection, UNLOCK_SQL, name, shard);
+            }
+        } catch (SQLException | DataAccessException e) {
+            log.warn("Could not run shard {} of cluster job {}: {}", shard, name, e.getMessage());
+        }
+    }
+
+    // Size of the connection pool behind the DataSource, or -1 if it is not a Hikari pool
+    private int maxConnections() {
+        try {
+            if (dataSource.isWrapperFor(HikariConfigMXBean.class)) {
+                return dataSource.unwrap(HikariConfigMXBean.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not read the connection pool size: {}", e.getMessage());
+        }
+        return -1;
+    }
+
+    // Whether a node already completed the firing due at scheduledAt
+    private static boolean firedSince(ClusterJob job, Instant lastFiredAt, Instant scheduledAt) {
+        if (lastFiredAt == null) {
+            return false;
+        }
+        return job.getCron() != null
+                ? !lastFiredAt.isBefore(scheduledAt)
+                : lastFiredAt.isAfter(scheduledAt.minus(job.getFixedRate()));
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String name, int shard) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            statement.setInt(2, shard);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
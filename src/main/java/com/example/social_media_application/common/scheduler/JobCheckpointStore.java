@@ -0,0 +1,51 @@
+package com.example.social_media_application.common.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class JobCheckpointStore {
+
+    private static final String BEGIN_SQL = "INSERT INTO job_checkpoints (job_name, shard, run_started_at, updated_at) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (job_name, shard) DO UPDATE SET run_started_at = excluded.run_started_at, "
+            + "updated_at = excluded.updated_at RETURNING position";
+
+    private static final String SAVE_SQL = "UPDATE job_checkpoints SET position = ?, updated_at = ? "
+            + "WHERE job_name = ? AND shard = ?";
+
+    private static final String COMPLETE_SQL = "UPDATE job_checkpoints SET position = NULL, last_completed_at = ?, "
+            + "last_fired_at = GREATEST(last_fired_at, ?), updated_at = ? WHERE job_name = ? AND shard = ?";
+
+    private static final String LAST_FIRED_SQL = "SELECT last_fired_at FROM job_checkpoints WHERE job_name = ? AND shard = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Marks a run of the shard as started and returns where the previous run stopped. */
+    public String begin(String jobName, int shard) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.queryForObject(BEGIN_SQL, String.class, jobName, shard, now, now);
+    }
+
+    public void save(String jobName, int shard, String position) {
+        jdbcTemplate.update(SAVE_SQL, position, Timestamp.valueOf(LocalDateTime.now()), jobName, shard);
+    }
+
+    /** Clears the shard's position and records {@code firedAt} as the last firing it completed. */
+    public void complete(String jobName, int shard, Instant firedAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(COMPLETE_SQL, now, Timestamp.from(firedAt), now, jobName, shard);
+    }
+
+    /** Scheduled time of the last firing the shard completed on any node, or null if none has. */
+    public Instant lastFiredAt(String jobName, int shard) {
+        List<Timestamp> rows = jdbcTemplate.queryForList(LAST_FIRED_SQL, Timestamp.class, jobName, shard);
+        return rows.isEmpty() || rows.get(0) == null ? null : rows.get(0).toInstant();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.social_media_application.common.scheduler;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/** The shard a {@link ClusterJob} run is working on and its saved progress. */
+@Getter
+public class JobContext {
+
+    private final String jobName;
+    private final int shard;
+    private final int shards;
+    // When the firing running this shard was due
+    private final Instant scheduledAt;
+    // Where an unfinished earlier run of this shard stopped; null to start from the beginning
+    private String checkpoint;
+
+    private final JobCheckpointStore store;
+
+    JobContext(String jobName, int shard, int shards, Instant scheduledAt, String checkpoint, JobCheckpointStore store) {
+        this.jobName = jobName;
+        this.shard = shard;
+        this.shards = shards;
+        this.scheduledAt = scheduledAt;
+        this.checkpoint = checkpoint;
+        this.store = store;
+    }
+
+    public long getCheckpointAsLong(long defaultValue) {
+        return checkpoint == null ? defaultValue : Long.parseLong(checkpoint);
+    }
+
+    /** Saves progress at once, outside any transaction, so it survives a crash. */
+    public void saveCheckpoint(String position) {
+        store.save(jobName, shard, position);
+        checkpoint = position;
+    }
+
+    public void saveCheckpoint(long position) {
+        saveCheckpoint(Long.toString(position));
+    }
+
+    /** True once the node is shutting down; long runs should stop at the next checkpoint. */
+    public boolean isStopping() {
+        return Thread.currentThread().isInterrupted();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.social_media_application.common.sketch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size Count-Min sketch over strings or longs. Estimates never under-count; with
+ * {@code width} w and {@code depth} d the over-count is at most 2N/w with
+ * probability 1 - 2^-d, where N is the total number of increments.
+ * Increments are lock-free and safe from any thread.
+ *
+ * <p>Each key is hashed once to 128 bits: strings over their UTF-8 bytes, longs over all
+ * 64 bits. Row i uses column {@code h1 + i * h2}, which keeps the rows as independent as
+ * d separate hash functions would. Keys only share every cell if their 128-bit hashes
+ * agree, unlike {@code String.hashCode}, where "Aa" and "BB" are equal.
+ */
+public class CountMinSketch {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private final int depth;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicIntegerArray(width * depth);
+    }
+
+    public void increment(String key) {
+        increment(hash(key));
+    }
+
+    public void increment(long key) {
+        increment(Murmur3.hash128(key, SEED));
+    }
+
+    public int estimate(String key) {
+        return estimate(hash(key));
+    }
+
+    public int estimate(long key) {
+        return estimate(Murmur3.hash128(key, SEED));
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private void increment(Murmur3.Hash128 hash) {
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(row * width + column(hash, row));
+        }
+    }
+
+    private int estimate(Murmur3.Hash128 hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + column(hash, row)));
+        }
+        return min;
+    }
+
+    private int column(Murmur3.Hash128 hash, int row) {
+        long h = hash.h1() + row * hash.h2();
+        return (int) ((h & Long.MAX_VALUE) % width);
+    }
+
+    private static Murmur3.Hash128 hash(String key) {
+        return Murmur3.hash128(key.getBytes(StandardCharsets.UTF_8), SEED);
+    }
+}
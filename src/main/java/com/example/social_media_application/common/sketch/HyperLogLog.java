@@ -0,0 +1,136 @@
+package com.example.social_media_application.common.sketch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * HyperLogLog distinct-count sketch with {@code 2^precision} one-byte registers; the
+ * standard error is about {@code 1.04 / sqrt(2^precision)}. Sketches of the same
+ * precision merge by register-wise max, so counts from several nodes or intervals
+ * combine without double counting. Adds, merges and drains are lock-free and safe from
+ * any thread.
+ */
+public class HyperLogLog {
+
+    private static final VarHandle REGISTERS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /** Reads a sketch written by {@link #toBytes()}. */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog(bytes[0]);
+        if (bytes.length != sketch.registers.length + 1) {
+            throw new IllegalArgumentException("Sketch of precision " + bytes[0] + " must be "
+                    + (sketch.registers.length + 1) + " bytes");
+        }
+        System.arraycopy(bytes, 1, sketch.registers, 0, sketch.registers.length);
+        return sketch;
+    }
+
+    /** The precision followed by the registers. */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        for (int i = 0; i < registers.length; i++) {
+            bytes[i + 1] = (byte) REGISTERS.getVolatile(registers, i);
+        }
+        return bytes;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit caps the rank at 64 - precision + 1
+        long rest = (hash << precision) | (1L << (precision - 1));
+        raise(index, (byte) (Long.numberOfLeadingZeros(rest) + 1));
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            byte rank = (byte) REGISTERS.getVolatile(other.registers, i);
+            if (rank != 0) {
+                raise(i, rank);
+            }
+        }
+    }
+
+    /**
+     * Moves the registers into a new sketch and leaves this one empty. Adds racing with
+     * the drain land in one of the two, never in neither.
+     */
+    public HyperLogLog drain() {
+        HyperLogLog drained = new HyperLogLog(precision);
+        for (int i = 0; i < registers.length; i++) {
+            if ((byte) REGISTERS.getVolatile(registers, i) != 0) {
+                drained.registers[i] = (byte) REGISTERS.getAndSet(registers, i, (byte) 0);
+            }
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < registers.length; i++) {
+            if ((byte) REGISTERS.getVolatile(registers, i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < m; i++) {
+            byte rank = (byte) REGISTERS.getVolatile(registers, i);
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // Small cardinalities: linear counting over the empty registers is more accurate
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private void raise(int index, byte rank) {
+        byte current = (byte) REGISTERS.getVolatile(registers, index);
+        while (rank > current) {
+            if (REGISTERS.compareAndSet(registers, index, current, rank)) {
+                return;
+            }
+            current = (byte) REGISTERS.getVolatile(registers, index);
+        }
+    }
+
+    private static long mix(long value) {
+        // Murmur3 64-bit finaliser: sequential ids spread over all registers
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
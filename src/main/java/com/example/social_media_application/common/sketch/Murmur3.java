@@ -0,0 +1,101 @@
+package com.example.social_media_application.common.sketch;
+
+/**
+ * MurmurHash3 x64 128-bit, for deriving several independent hashes of one key. Byte
+ * arrays are read little-endian, as in the reference implementation; hashing a long
+ * gives the same result as hashing its eight little-endian bytes.
+ */
+final class Murmur3 {
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    record Hash128(long h1, long h2) {
+    }
+
+    private Murmur3() {
+    }
+
+    static Hash128 hash128(byte[] data, long seed) {
+        long h1 = seed;
+        long h2 = seed;
+        int blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52DCE729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495AB5;
+        }
+
+        int tail = blocks * 16;
+        int remaining = data.length - tail;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 = (k2 << 8) | (data[tail + i] & 0xFFL);
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 = (k1 << 8) | (data[tail + i] & 0xFFL);
+        }
+        if (remaining > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+        return finish(h1, h2, data.length);
+    }
+
+    static Hash128 hash128(long key, long seed) {
+        return finish(seed ^ mixK1(key), seed, Long.BYTES);
+    }
+
+    private static Hash128 finish(long h1, long h2, int length) {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new Hash128(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+}
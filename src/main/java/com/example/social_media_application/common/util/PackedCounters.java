@@ -0,0 +1,37 @@
+package com.example.social_media_application.common.util;
+
+/**
+ * Several small non-negative counters packed into one {@code long}: lane {@code i}
+ * occupies bits {@code [i * LANE_BITS, (i + 1) * LANE_BITS)}. Three 21-bit lanes fill
+ * 63 bits, so the packed value is never negative. A lane holds up to {@link #LANE_MAX};
+ * writers saturate at that value instead of carrying into the next lane.
+ *
+ * <p>A full lane is sticky. Once increments have been dropped its true count is unknown,
+ * so writers leave it at {@link #LANE_MAX} on decrements as well; applying them would
+ * let the lane drift below the count it stands for. An empty lane ignores decrements.
+ */
+public final class PackedCounters {
+
+    public static final int LANES = 3;
+    public static final int LANE_BITS = 21;
+    public static final long LANE_MAX = (1L << LANE_BITS) - 1;
+
+    private PackedCounters() {
+    }
+
+    public static int get(long packed, int lane) {
+        return (int) ((packed >>> shift(lane)) & LANE_MAX);
+    }
+
+    public static int shift(int lane) {
+        if (lane < 0 || lane >= LANES) {
+            throw new IllegalArgumentException("Lane must be between 0 and " + (LANES - 1) + ": " + lane);
+        }
+        return lane * LANE_BITS;
+    }
+
+    /** The amount that adds one to {@code lane} of a packed value. */
+    public static long unit(int lane) {
+        return 1L << shift(lane);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.social_media_application.common.web;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * The compact encodings offered next to JSON through content negotiation. Responses in
+ * these formats are wrapped by {@link UserDictionaryAdvice}.
+ */
+public final class BinaryFormats {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> ALL = List.of(CBOR, SMILE);
+
+    private BinaryFormats() {
+    }
+
+    public static boolean isBinary(MediaType mediaType) {
+        return mediaType != null && ALL.stream().anyMatch(type -> type.includes(mediaType));
+    }
+
+    /**
+     * The binary format the client asked for by name in its Accept header, or null.
+     * Wildcards do not count: clients that accept anything keep getting JSON.
+     */
+    public static MediaType requested(WebRequest request) {
+        String accept = request.getHeader("Accept");
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (!mediaType.isWildcardType() && !mediaType.isWildcardSubtype() && isBinary(mediaType)) {
+                    return mediaType;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.social_media_application.common.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * ETag checks for read endpoints, with a hit/miss counter per endpoint
+ * ({@code http.etag.requests}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequests {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Returns true, with the response already set to 304, when the client's If-None-Match
+     * matches {@code etag}. A null etag (resource missing or not visible) never matches,
+     * so the regular code path can produce the error. Binary representations get their
+     * own tag, since the same resource encodes to different bytes per format.
+     */
+    public boolean checkNotModified(WebRequest request, String endpoint, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        MediaType binaryFormat = BinaryFormats.requested(request);
+        if (binaryFormat != null) {
+            etag = etag + "-" + binaryFormat.getSubtype();
+        }
+        boolean notModified = request.checkNotModified(etag);
+        meterRegistry.counter("http.etag.requests", "endpoint", endpoint, "result", notModified ? "hit" : "miss")
+                .increment();
+        return notModified;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.social_media_application.common.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the heap allocated by each request's thread as {@code http.server.requests.allocated}
+ * (bytes, tagged by method and URI pattern). Diagnostic only: enabled by the query-stats
+ * profile. Threads for which the JVM cannot report allocation (virtual threads on some
+ * JDKs) are skipped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "request-stats", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RequestAllocationFilter extends OncePerRequestFilter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long after = THREADS.getCurrentThreadAllocatedBytes();
+            if (before >= 0 && after >= before) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.allocated")
+                        .baseUnit("bytes")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(after - before);
+            }
+        }
+    }
+}
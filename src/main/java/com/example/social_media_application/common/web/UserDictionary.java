@@ -0,0 +1,74 @@
+package com.example.social_media_application.common.web;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves the user objects of a response tree into a single per-response dictionary.
+ *
+ * <p>Every {@code user} / {@code lastActor} object and every element of a {@code likedBy}
+ * array is replaced by the user's id, and the user itself is written once under
+ * {@code users}, keyed by id:
+ * <pre>{ "data": [ { "id": 7, "user": 3, "likedBy": [3, 5] } ], "users": { "3": {...}, "5": {...} } }</pre>
+ */
+public final class UserDictionary {
+
+    private static final Set<String> USER_FIELDS = Set.of("user", "lastActor");
+    private static final String USER_LIST_FIELD = "likedBy";
+
+    private UserDictionary() {
+    }
+
+    public static ObjectNode pack(JsonNode data) {
+        ObjectNode users = JsonNodeFactory.instance.objectNode();
+        walk(data, users);
+        ObjectNode envelope = JsonNodeFactory.instance.objectNode();
+        envelope.set("data", data);
+        envelope.set("users", users);
+        return envelope;
+    }
+
+    private static void walk(JsonNode node, ObjectNode users) {
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                walk(element, users);
+            }
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        ObjectNode object = (ObjectNode) node;
+        for (Map.Entry<String, JsonNode> property : object.properties()) {
+            String name = property.getKey();
+            JsonNode value = property.getValue();
+            if (USER_FIELDS.contains(name) && isUser(value)) {
+                object.replace(name, intern(value, users));
+            } else if (USER_LIST_FIELD.equals(name) && value.isArray()) {
+                ArrayNode list = (ArrayNode) value;
+                for (int i = 0; i < list.size(); i++) {
+                    if (isUser(list.get(i))) {
+                        list.set(i, intern(list.get(i), users));
+                    }
+                }
+            } else {
+                walk(value, users);
+            }
+        }
+    }
+
+    private static boolean isUser(JsonNode node) {
+        return node.isObject() && node.path("id").isNumber();
+    }
+
+    private static JsonNode intern(JsonNode user, ObjectNode users) {
+        JsonNode id = user.get("id");
+        users.putIfAbsent(id.asString(), user);
+        return id;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.social_media_application.common.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps CBOR and Smile responses in a {@link UserDictionary} envelope, so each user
+ * appears once per response instead of once per post, comment and like. JSON responses
+ * are left as they are.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class UserDictionaryAdvice implements ResponseBodyAdvice<Object> {
+
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            List<String> vary = new ArrayList<>(headers.getVary());
+            vary.add(HttpHeaders.ACCEPT);
+            headers.setVary(vary);
+        }
+        if (body == null || !BinaryFormats.isBinary(selectedContentType)) {
+            return body;
+        }
+        return UserDictionary.pack(jsonMapper.valueToTree(body));
+    }
+}
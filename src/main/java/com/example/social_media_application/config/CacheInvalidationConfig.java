@@ -0,0 +1,14 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache-invalidation")
+@Data
+public class CacheInvalidationConfig {
+    private long flushIntervalMs = 50;
+    // Beyond this many pending keys a cache is flushed whole on the other nodes
+    private int maxPendingKeys = 1000;
+}
@@ -0,0 +1,19 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "events")
+@Data
+public class EventConfig {
+    private int ringSize = 4096;
+    private int maxBatchSize = 256;
+    private long relayGraceMs = 30000;
+    private int relayBatchSize = 500;
+    private long retentionHours = 24;
+    private int maxAttempts = 10;
+    private long retryBackoffMs = 5000;
+    private long maxRetryBackoffMs = 3600000;
+}
@@ -0,0 +1,19 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "hashtags")
+@Data
+public class HashtagConfig {
+    private int maxTagsPerPost = 30;
+    private int maxPageSize = 50;
+    // Trending window = trendingBuckets x trendingBucketMs (one hour by default)
+    private int trendingBuckets = 12;
+    private long trendingBucketMs = 300000;
+    private int trendingSize = 10;
+    private int sketchWidth = 4096;
+    private int sketchDepth = 4;
+}
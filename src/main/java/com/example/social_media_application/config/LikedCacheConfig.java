@@ -0,0 +1,14 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "liked-cache")
+@Data
+public class LikedCacheConfig {
+    private long maxBytes = 67108864;
+    private long idleSeconds = 900;
+    private int maxLikesPerUser = 200000;
+}
@@ -0,0 +1,20 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "live")
+@Data
+public class LiveConfig {
+    private int maxConnections = 50000;
+    private int maxWatchedPosts = 100;
+    private int sendBufferSize = 64;
+    private int senderThreads = 4;
+    private long flushIntervalMs = 500;
+    private long heartbeatIntervalMs = 25000;
+    private long emitterTimeoutMs = 1800000;
+    private long sendTimeLimitMs = 10000;
+    private int maxStalledSends = 64;
+}
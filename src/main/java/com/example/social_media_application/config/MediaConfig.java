@@ -0,0 +1,18 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "media")
+@Data
+public class MediaConfig {
+    private String storageDir = "data/media";
+    private long maxFileBytes = 10485760;
+    private int thumbnailSize = 320;
+    private int thumbnailThreads = 2;
+    private int thumbnailQueueCapacity = 256;
+    private long maxPixels = 40000000;
+    private long cacheMaxAgeSeconds = 31536000;
+}
@@ -0,0 +1,39 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@ConfigurationProperties(prefix = "migration")
+@Data
+public class MigrationConfig {
+
+    public enum Mode {
+        // Never touch the schema on startup (the default; run the one-shot migrate command instead)
+        OFF,
+        // Run the full Liquibase update on every startup
+        ALWAYS,
+        // Run Liquibase only when the packaged changelog differs from the last applied one
+        ON_CHANGE
+    }
+
+    private Mode mode = Mode.OFF;
+    private String changeLog = "db/changelog/db.changelog-master.yaml";
+    private boolean exitAfterMigration = false;
+
+    // JPA must not bootstrap against a schema that is still being migrated
+    @Bean
+    public static BeanFactoryPostProcessor entityManagerFactoryDependsOnMigration() {
+        return beanFactory -> {
+            if (beanFactory.containsBeanDefinition("entityManagerFactory")) {
+                BeanDefinition definition = beanFactory.getBeanDefinition("entityManagerFactory");
+                definition.setDependsOn(StringUtils.addStringToArray(definition.getDependsOn(), "startupMigration"));
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notifications")
+@Data
+public class NotificationConfig {
+    private int maxTrackedUsers = 100000;
+    private int maxPageSize = 50;
+    // An unread notification absorbs new events for the same target for this long
+    private int mergeWindowMinutes = 1440;
+}
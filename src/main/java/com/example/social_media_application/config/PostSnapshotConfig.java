@@ -0,0 +1,17 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "post-snapshots")
+@Data
+public class PostSnapshotConfig {
+    private boolean enabled = true;
+    private int maxEntries = 10000;
+    private long maxBytes = 64L * 1024 * 1024;
+    // A post is snapshotted once it has been rebuilt this many times within one sweep interval
+    private int admitAfterMisses = 3;
+    private long sweepIntervalMs = 30000;
+}
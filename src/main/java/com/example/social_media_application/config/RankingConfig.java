@@ -0,0 +1,20 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "ranking")
+@Data
+public class RankingConfig {
+    private int topSize = 1000;
+    // Engagement is worth half as much every half-life
+    private double halfLifeHours = 12;
+    private double postWeight = 1.0;
+    private double likeWeight = 1.0;
+    private double commentWeight = 2.0;
+    private long checkpointIntervalMs = 60000;
+    private int rebuildFetchSize = 1000;
+    private int maxPageSize = 50;
+}
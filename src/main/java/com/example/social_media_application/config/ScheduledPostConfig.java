@@ -0,0 +1,17 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduled-posts")
+@Data
+public class ScheduledPostConfig {
+    private long tickMs = 1000;
+    // Posts due within this window are held in memory; later ones stay in the table
+    private long horizonMs = 600000;
+    private long refillIntervalMs = 60000;
+    private int maxLoaded = 100000;
+    private int batchSize = 100;
+}
@@ -0,0 +1,17 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduler")
+@Data
+public class SchedulerConfig {
+    private boolean enabled = true;
+    // Jobs due at the same time beyond this wait for a free thread, which shows up as lag
+    private int poolSize = 2;
+    private String refreshTokenCleanupCron = "0 15 * * * *";
+    private int refreshTokenCleanupShards = 4;
+    private int refreshTokenCleanupBatchSize = 1000;
+}
@@ -0,0 +1,27 @@
+package com.example.social_media_application.config;
+
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // The WebSocket broker registers a TaskScheduler of its own, so Spring Boot backs off from
+    // creating one and every @Scheduled method would share the broker's single thread.
+    // Sized by spring.task.scheduling.*; under virtual threads each run gets its own thread.
+    @Bean
+    public TaskScheduler taskScheduler(Environment environment,
+                                       ThreadPoolTaskSchedulerBuilder threadPoolBuilder,
+                                       SimpleAsyncTaskSchedulerBuilder virtualThreadBuilder) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return virtualThreadBuilder.build();
+        }
+        return threadPoolBuilder.build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.social_media_application.config;
+
+import com.example.social_media_application.auth.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache on a local Caffeine JCache provider. The cache manager
+ * is built here, with bounded regions for User and its email natural id, and handed to
+ * Hibernate, so every region is explicit (unknown regions fail at startup) and exports
+ * {@code cache.gets} hit/miss metrics. Cross-node eviction is done by UserCacheInvalidator.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(UserCacheConfig config, MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : new String[]{User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION}) {
+            if (cacheManager.getCache(region) == null) {
+                Cache<Object, Object> cache = cacheManager.createCache(region, regionConfiguration(config));
+                JCacheMetrics.monitor(meterRegistry, cache);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(UserCacheConfig config) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(config.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(config.getTtlSeconds())));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
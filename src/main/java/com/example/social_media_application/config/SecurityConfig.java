@@ -3,6 +3,7 @@ import com.example.social_media_application.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -39,6 +40,11 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // STOMP clients authenticate on the CONNECT frame (see StompAuthChannelInterceptor)
+                        .requestMatchers("/ws/**").permitAll()
+                        // Media is content-addressed: the SHA-256 in the URL is the capability, so <img> tags work without a token
+                        .requestMatchers(HttpMethod.GET, "/media/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/media/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,19 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "sync")
+@Data
+public class SyncConfig {
+    // Minimum age of a horizon sample; covers the gap between a writer's nextval and its xid
+    private long settleMs = 200;
+    private long sampleIntervalMs = 500;
+    // Posts whose likes or comments changed are renumbered in one batch this often
+    private long touchFlushIntervalMs = 200;
+    private int maxChanges = 200;
+    private int tombstoneRetentionDays = 30;
+    private String tombstonePurgeCron = "0 30 3 * * *";
+}
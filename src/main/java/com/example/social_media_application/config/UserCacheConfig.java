@@ -0,0 +1,15 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-cache")
+@Data
+public class UserCacheConfig {
+    private long maxEntries = 10000;
+    private long ttlSeconds = 600;
+    private long summaryMaxEntries = 50000;
+    private long summaryTtlSeconds = 600;
+}
@@ -0,0 +1,18 @@
+package com.example.social_media_application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "user-search")
+@Data
+public class UserSearchConfig {
+    private int maxResults = 20;
+    private long rebuildIntervalMs = 3600000;
+    private int rebuildFetchSize = 1000;
+    private long refreshIntervalMs = 1000;
+    // Users added or renamed since the last build before the sorted arrays are rebuilt in memory
+    private int maxOverlaySize = 1024;
+    private int maxMentionsPerPost = 10;
+}
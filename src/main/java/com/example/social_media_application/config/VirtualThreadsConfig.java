@@ -0,0 +1,44 @@
+package com.example.social_media_application.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Opt-in virtual-thread execution (profile {@code virtual-threads}, Java 21+).
+ * Spring Boot moves Tomcat request handling and the {@code @Async} executor onto
+ * virtual threads when {@code spring.threads.virtual.enabled} is set; this class
+ * warns when the JVM is too old.
+ *
+ * <p>There is no extra guard in front of the database. Without Tomcat's worker cap,
+ * requests queue for a connection inside Hikari, which parks a waiting virtual thread
+ * without pinning it and gives up after {@code connection-timeout}. A semaphore with
+ * one permit per pooled connection would only repeat that queue.
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final Environment environment;
+
+    public VirtualThreadsConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkRuntime() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && Runtime.version().feature() < VIRTUAL_THREADS_MIN_JAVA) {
+            log.warn("spring.threads.virtual.enabled is set but the JVM is Java {}; virtual threads need Java {}+, "
+                    + "falling back to platform threads", Runtime.version().feature(), VIRTUAL_THREADS_MIN_JAVA);
+        } else if (requested) {
+            log.info("Request handling and @Async work run on virtual threads");
+        }
+    }
+}
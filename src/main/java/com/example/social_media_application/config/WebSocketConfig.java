@@ -0,0 +1,63 @@
+package com.example.social_media_application.config;
+
+import com.example.social_media_application.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    // Client SEND frames may only target @MessageMapping handlers under this prefix
+    public static final String APPLICATION_DESTINATION_PREFIX = "/app";
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.outbound-threads:8}")
+    private int outboundThreads;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOrigins("http://localhost:3000", "http://localhost:5173");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes(APPLICATION_DESTINATION_PREFIX);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session that cannot drain its buffer in time is closed rather than buffered without limit;
+        // the client reconnects and reloads the comment snapshot over REST.
+        registration.setSendTimeLimit(sendTimeLimitMs);
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+        registration.setMessageSizeLimit(64 * 1024);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor().corePoolSize(outboundThreads).maxPoolSize(outboundThreads);
+    }
+}
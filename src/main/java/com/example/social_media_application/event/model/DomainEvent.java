@@ -0,0 +1,28 @@
+package com.example.social_media_application.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable-by-convention description of a committed write. The outbox id is
+ * assigned when the event is recorded and is used to acknowledge delivery.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEvent {
+    private Long id;
+    private DomainEventType type;
+    private Long postId;
+    private Long commentId;
+    private Long parentCommentId;
+    private Long actorId;
+    private Long recipientId;
+    private Boolean publicPost;
+    private LocalDateTime occurredAt;
+}
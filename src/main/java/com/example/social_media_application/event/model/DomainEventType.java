@@ -0,0 +1,15 @@
+package com.example.social_media_application.event.model;
+
+public enum DomainEventType {
+    POST_CREATED,
+    POST_UPDATED,
+    POST_DELETED,
+    POST_LIKED,
+    POST_UNLIKED,
+    COMMENT_CREATED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED,
+    COMMENT_LIKED,
+    COMMENT_UNLIKED,
+    USER_MENTIONED
+}
@@ -0,0 +1,78 @@
+package com.example.social_media_application.event.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private DomainEventType eventType;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "parent_comment_id")
+    private Long parentCommentId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "recipient_id")
+    private Long recipientId;
+
+    @Column(name = "is_public_post")
+    private Boolean publicPost;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    // Failed deliveries so far; the relay skips the event until nextAttemptAt
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Set when the event is parked after too many attempts; it is never relayed again
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    public DomainEvent toDomainEvent() {
+        return DomainEvent.builder()
+                .id(id)
+                .type(eventType)
+                .postId(postId)
+                .commentId(commentId)
+                .parentCommentId(parentCommentId)
+                .actorId(actorId)
+                .recipientId(recipientId)
+                .publicPost(publicPost)
+                .occurredAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.social_media_application.event.repository;
+
+import com.example.social_media_application.event.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Events that were never acknowledged and are due for another attempt, oldest first
+    // (served by the partial index on dispatched_at and failed_at)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.failedAt IS NULL AND e.createdAt < :before "
+            + "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.id ASC")
+    List<OutboxEvent> findUndispatchedBefore(@Param("before") LocalDateTime before,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :now WHERE e.id IN :ids AND e.dispatchedAt IS NULL")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt IS NOT NULL AND e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,17 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Asynchronous consumer of committed domain events. Batches are delivered from a
+ * single dispatcher thread; delivery is at-least-once, so implementations must
+ * tolerate seeing the same event id twice.
+ */
+public interface DomainEventConsumer {
+
+    String getName();
+
+    void onEvents(List<DomainEvent> events);
+}
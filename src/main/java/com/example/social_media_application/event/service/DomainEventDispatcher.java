@@ -0,0 +1,235 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.config.EventConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Moves committed events from the ring buffer to every {@link DomainEventConsumer}
+ * on a single background thread, then acknowledges them in the outbox.
+ *
+ * <p>Events a consumer fails on are not acknowledged. Each failure is counted in the
+ * outbox, which backs the event off from the relay and parks it once it has failed
+ * {@code events.max-attempts} times.
+ */
+@Component
+@Slf4j
+public class DomainEventDispatcher {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final EventRingBuffer ringBuffer;
+    private final ObjectProvider<DomainEventConsumer> consumerProvider;
+    private List<DomainEventConsumer> consumers = List.of();
+    private final OutboxService outboxService;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Counter rejectedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer dispatchLagTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private volatile Thread dispatcherThread;
+
+    public DomainEventDispatcher(EventConfig eventConfig,
+                                 ObjectProvider<DomainEventConsumer> consumerProvider,
+                                 OutboxService outboxService,
+                                 MeterRegistry meterRegistry) {
+        this.ringBuffer = new EventRingBuffer(eventConfig.getRingSize());
+        this.consumerProvider = consumerProvider;
+        this.outboxService = outboxService;
+        this.maxBatchSize = eventConfig.getMaxBatchSize();
+        this.maxAttempts = eventConfig.getMaxAttempts();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("domain.events.ring.backlog", ringBuffer, EventRingBuffer::getBacklog)
+                .description("Events published but not yet processed by consumers")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("domain.events.ring.rejected")
+                .description("Events left to the outbox relay because the ring was full")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("domain.events.dead.lettered")
+                .description("Events parked after failing delivery too many times")
+                .register(meterRegistry);
+        this.dispatchLagTimer = Timer.builder("domain.events.dispatch.lag")
+                .description("Time from outbox write to consumer delivery")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("domain.events.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        consumers = consumerProvider.orderedStream().collect(Collectors.toList());
+        running = true;
+        dispatcherThread = new Thread(this::runLoop, "domain-event-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        log.info("Domain event dispatcher started with ring size {} and {} consumers",
+                ringBuffer.getCapacity(), consumers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCommitted(DomainEvent event) {
+        enqueue(event);
+    }
+
+    /**
+     * Offers an event to the ring. Returns false when the ring is full or the event
+     * is already in flight; the outbox relay retries it later in both cases.
+     */
+    public boolean enqueue(DomainEvent event) {
+        if (event.getId() != null && !inFlight.add(event.getId())) {
+            return false;
+        }
+        if (!ringBuffer.tryPublish(event)) {
+            if (event.getId() != null) {
+                inFlight.remove(event.getId());
+            }
+            rejectedCounter.increment();
+            return false;
+        }
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    public long getBacklog() {
+        return ringBuffer.getBacklog();
+    }
+
+    private void runLoop() {
+        List<DomainEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            batch.clear();
+            int drained = ringBuffer.drainTo(batch, maxBatchSize);
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            try {
+                dispatch(batch);
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure dispatching {} domain events", drained, ex);
+            } finally {
+                ringBuffer.release(drained);
+            }
+        }
+    }
+
+    private void dispatch(List<DomainEvent> batch) {
+        batchSizeSummary.record(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (DomainEvent event : batch) {
+            if (event.getOccurredAt() != null) {
+                dispatchLagTimer.record(Duration.between(event.getOccurredAt(), now).abs());
+            }
+        }
+
+        List<DomainEvent> view = Collections.unmodifiableList(batch);
+        Set<Long> failed = new HashSet<>();
+        for (DomainEventConsumer consumer : consumers) {
+            try {
+                consumer.onEvents(view);
+            } catch (RuntimeException ex) {
+                meterRegistry.counter("domain.events.consumer.failures", "consumer", consumer.getName()).increment();
+                log.error("Consumer {} failed on a batch of {} events", consumer.getName(), batch.size(), ex);
+                failed.addAll(isolateFailures(consumer, batch));
+            }
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (DomainEvent event : batch) {
+            if (event.getId() != null && !failed.contains(event.getId())) {
+                delivered.add(event.getId());
+            }
+        }
+
+        try {
+            outboxService.markDispatched(delivered);
+            if (!failed.isEmpty()) {
+                park(outboxService.recordFailures(failed));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not acknowledge {} outbox events, they will be redelivered: {}",
+                    delivered.size() + failed.size(), ex.getMessage());
+        } finally {
+            delivered.forEach(inFlight::remove);
+            failed.forEach(inFlight::remove);
+        }
+    }
+
+    /**
+     * Hands a failed batch to the consumer again one event at a time, so a single poison
+     * event does not hold back the rest of the batch. Returns the ids of the events that
+     * still fail; consumers are at-least-once, so seeing the others twice is fine.
+     */
+    private Set<Long> isolateFailures(DomainEventConsumer consumer, List<DomainEvent> batch) {
+        Set<Long> failed = new HashSet<>();
+        if (batch.size() == 1) {
+            addId(failed, batch.get(0));
+            return failed;
+        }
+        for (DomainEvent event : batch) {
+            try {
+                consumer.onEvents(List.of(event));
+            } catch (RuntimeException ex) {
+                log.warn("Consumer {} failed on event {}: {}", consumer.getName(), event.getId(), ex.getMessage());
+                addId(failed, event);
+            }
+        }
+        return failed;
+    }
+
+    private void park(List<Long> parked) {
+        deadLetteredCounter.increment(parked.size());
+        for (Long id : parked) {
+            log.error("Outbox event {} failed {} times and was parked; it will not be relayed again", id, maxAttempts);
+        }
+    }
+
+    private static void addId(Set<Long> ids, DomainEvent event) {
+        if (event.getId() != null) {
+            ids.add(event.getId());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records a domain event in the transactional outbox of the caller's transaction.
+ * Dispatch to consumers only happens after that transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public void publish(DomainEvent event) {
+        DomainEvent recorded = outboxService.record(event);
+        applicationEventPublisher.publishEvent(recorded);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer / single-consumer ring of preallocated slots.
+ * Producers claim a sequence with a CAS and then mark the slot available;
+ * the consumer drains contiguous available sequences and releases them in bulk.
+ * A full ring rejects instead of blocking the committing request thread.
+ */
+public class EventRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<DomainEvent> entries;
+    private final AtomicLongArray availableSequences;
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+    private final AtomicLong consumedSequence = new AtomicLong(-1);
+
+    public EventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.availableSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            availableSequences.set(i, -1);
+        }
+    }
+
+    public boolean tryPublish(DomainEvent event) {
+        long current;
+        long next;
+        do {
+            current = claimSequence.get();
+            next = current + 1;
+            if (next - capacity > consumedSequence.get()) {
+                return false;
+            }
+        } while (!claimSequence.compareAndSet(current, next));
+
+        int index = (int) (next & mask);
+        entries.set(index, event);
+        availableSequences.set(index, next);
+        return true;
+    }
+
+    /**
+     * Copies up to {@code maxBatch} contiguous published events into {@code sink}
+     * without releasing them; call {@link #release(int)} once they are processed.
+     */
+    public int drainTo(List<DomainEvent> sink, int maxBatch) {
+        long from = consumedSequence.get() + 1;
+        int drained = 0;
+        while (drained < maxBatch) {
+            long sequence = from + drained;
+            int index = (int) (sequence & mask);
+            if (availableSequences.get(index) != sequence) {
+                break;
+            }
+            sink.add(entries.get(index));
+            drained++;
+        }
+        return drained;
+    }
+
+    public void release(int count) {
+        long from = consumedSequence.get() + 1;
+        for (int i = 0; i < count; i++) {
+            entries.set((int) ((from + i) & mask), null);
+        }
+        consumedSequence.addAndGet(count);
+    }
+
+    public long getBacklog() {
+        return claimSequence.get() - consumedSequence.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
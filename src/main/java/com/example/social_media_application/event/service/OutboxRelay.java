@@ -0,0 +1,54 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.config.EventConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Redelivers outbox events that were never acknowledged, e.g. because the ring was
+ * full, a consumer failed, or the node crashed between commit and dispatch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final DomainEventDispatcher dispatcher;
+    private final EventConfig eventConfig;
+
+    @Scheduled(fixedDelayString = "${events.relay-interval-ms:5000}", initialDelayString = "${events.relay-interval-ms:5000}")
+    public void relayPending() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusNanos(eventConfig.getRelayGraceMs() * 1_000_000);
+            List<DomainEvent> pending = outboxService.findUndispatched(before, eventConfig.getRelayBatchSize());
+
+            int relayed = 0;
+            for (DomainEvent event : pending) {
+                if (dispatcher.enqueue(event)) {
+                    relayed++;
+                }
+            }
+            if (relayed > 0) {
+                log.info("Relayed {} pending outbox events", relayed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay skipped: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${events.purge-cron:0 0 * * * *}")
+    public void purgeDispatched() {
+        try {
+            outboxService.purgeDispatched(LocalDateTime.now().minusHours(eventConfig.getRetentionHours()));
+        } catch (RuntimeException ex) {
+            log.warn("Outbox purge skipped: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.social_media_application.event.service;
+
+import com.example.social_media_application.config.EventConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.OutboxEvent;
+import com.example.social_media_application.event.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventConfig eventConfig;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DomainEvent record(DomainEvent event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .eventType(event.getType())
+                .postId(event.getPostId())
+                .commentId(event.getCommentId())
+                .parentCommentId(event.getParentCommentId())
+                .actorId(event.getActorId())
+                .recipientId(event.getRecipientId())
+                .publicPost(event.getPublicPost())
+                .build();
+
+        outboxEvent = outboxEventRepository.save(outboxEvent);
+        return outboxEvent.toDomainEvent();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DomainEvent> findUndispatched(LocalDateTime before, int limit) {
+        return outboxEventRepository.findUndispatchedBefore(before, LocalDateTime.now(), PageRequest.of(0, limit)).stream()
+                .map(OutboxEvent::toDomainEvent)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public int markDispatched(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return outboxEventRepository.markDispatched(ids, LocalDateTime.now());
+    }
+
+    /**
+     * Counts a failed delivery of each event and holds it back from the relay for an
+     * exponentially growing delay. Events that reach the maximum number of attempts are
+     * parked instead and never relayed again. Returns the ids parked by this call.
+     */
+    @Transactional
+    public List<Long> recordFailures(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> parked = new ArrayList<>();
+        for (OutboxEvent event : outboxEventRepository.findAllById(ids)) {
+            if (event.getDispatchedAt() != null || event.getFailedAt() != null) {
+                continue;
+            }
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            if (attempts >= eventConfig.getMaxAttempts()) {
+                event.setFailedAt(now);
+                parked.add(event.getId());
+            } else {
+                event.setNextAttemptAt(now.plusNanos(retryBackoffMs(attempts) * 1_000_000));
+            }
+        }
+        return parked;
+    }
+
+    @Transactional
+    public int purgeDispatched(LocalDateTime before) {
+        int deleted = outboxEventRepository.deleteDispatchedBefore(before);
+        log.info("Purged {} dispatched outbox events", deleted);
+        return deleted;
+    }
+
+    // Doubles with every attempt, up to the configured maximum
+    private long retryBackoffMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(eventConfig.getRetryBackoffMs() << doublings, eventConfig.getMaxRetryBackoffMs());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.social_media_application.exception;
+
+public class InvalidMediaException extends RuntimeException {
+    public InvalidMediaException(String message) {
+        super(message);
+    }
+}
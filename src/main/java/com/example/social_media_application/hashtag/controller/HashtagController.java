@@ -0,0 +1,34 @@
+package com.example.social_media_application.hashtag.controller;
+
+import com.example.social_media_application.hashtag.dto.HashtagPostPageResponse;
+import com.example.social_media_application.hashtag.dto.TrendingHashtagResponse;
+import com.example.social_media_application.hashtag.service.HashtagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/hashtags")
+@RequiredArgsConstructor
+public class HashtagController {
+
+    private final HashtagService hashtagService;
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingHashtagResponse>> getTrending() {
+        return ResponseEntity.ok(hashtagService.getTrending());
+    }
+
+    @GetMapping("/{tag}/posts")
+    public ResponseEntity<HashtagPostPageResponse> getPostsByTag(@PathVariable String tag,
+                                                                 @RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        HashtagPostPageResponse response = hashtagService.getPostsByTag(tag, cursor, size, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.social_media_application.hashtag.dto;
+
+import com.example.social_media_application.post.dto.PostResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashtagPostPageResponse {
+    private String tag;
+    private List<PostResponse> content;
+    private Long nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.example.social_media_application.hashtag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingHashtagResponse {
+    private String tag;
+    // Approximate number of public posts using the tag within the trending window
+    private Long count;
+}
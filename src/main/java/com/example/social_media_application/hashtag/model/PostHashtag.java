@@ -0,0 +1,37 @@
+package com.example.social_media_application.hashtag.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inverted index entry: one row per distinct hashtag per post. Rows are rewritten by
+ * HashtagIndexer whenever the post content changes and removed with the post.
+ */
+@Entity
+@Table(name = "post_hashtags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_hashtag_tag_post", columnNames = {"tag", "post_id"}),
+        indexes = @Index(name = "idx_post_hashtag_post_id", columnList = "post_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostHashtag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false, length = 50)
+    private String tag;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.example.social_media_application.hashtag.repository;
+
+import com.example.social_media_application.hashtag.model.PostHashtag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostHashtagRepository extends JpaRepository<PostHashtag, Long> {
+
+    @Query("SELECT h.tag FROM PostHashtag h WHERE h.postId = :postId")
+    List<String> findTagsByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostHashtag h WHERE h.postId = :postId AND h.tag IN :tags")
+    int deleteByPostIdAndTagIn(@Param("postId") Long postId, @Param("tags") Collection<String> tags);
+
+    // First page of posts for a tag that the user may view, newest first
+    @Query("SELECT h.postId FROM PostHashtag h JOIN Post p ON p.id = h.postId " +
+            "WHERE h.tag = :tag AND (p.isPublic = true OR p.user.id = :userId) ORDER BY h.postId DESC")
+    List<Long> findVisiblePostIds(@Param("tag") String tag, @Param("userId") Long userId, Pageable pageable);
+
+    // Following pages, keyed on the last post id seen
+    @Query("SELECT h.postId FROM PostHashtag h JOIN Post p ON p.id = h.postId " +
+            "WHERE h.tag = :tag AND h.postId < :cursor AND (p.isPublic = true OR p.user.id = :userId) ORDER BY h.postId DESC")
+    List<Long> findVisiblePostIdsBefore(@Param("tag") String tag, @Param("userId") Long userId,
+                                        @Param("cursor") Long cursor, Pageable pageable);
+}
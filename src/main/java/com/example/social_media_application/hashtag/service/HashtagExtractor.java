@@ -0,0 +1,53 @@
+package com.example.social_media_application.hashtag.service;
+
+import com.example.social_media_application.config.HashtagConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class HashtagExtractor {
+
+    // A tag starts with a letter, is at most 50 word characters and is not part of a word or an HTML entity
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_&#])#(\\p{L}[\\p{L}\\p{N}_]{0,49})(?![\\p{L}\\p{N}_])");
+    private static final Pattern TAG = Pattern.compile("\\p{L}[\\p{L}\\p{N}_]{0,49}");
+
+    private final HashtagConfig hashtagConfig;
+
+    /**
+     * Distinct, lower-cased hashtags in order of first appearance, capped at
+     * {@code hashtags.max-tags-per-post}.
+     */
+    public Set<String> extract(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null || content.indexOf('#') < 0) {
+            return tags;
+        }
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find() && tags.size() < hashtagConfig.getMaxTagsPerPost()) {
+            tags.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tags;
+    }
+
+    /**
+     * Normalises a tag from a URL ("#Spring", "spring") to its indexed form, or returns
+     * null when it can never match an indexed tag.
+     */
+    public String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String stripped = tag.strip();
+        if (stripped.startsWith("#")) {
+            stripped = stripped.substring(1);
+        }
+        return TAG.matcher(stripped).matches() ? stripped.toLowerCase(Locale.ROOT) : null;
+    }
+}
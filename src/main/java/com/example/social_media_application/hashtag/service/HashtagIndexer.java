@@ -0,0 +1,88 @@
+package com.example.social_media_application.hashtag.service;
+
+import com.example.social_media_application.hashtag.repository.PostHashtagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps post_hashtags in step with post content. Runs inside the caller's transaction so
+ * the index never disagrees with the post, and feeds newly added public tags to
+ * {@link TrendingHashtags} once that transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HashtagIndexer {
+
+    private static final String INSERT_SQL = "INSERT INTO post_hashtags (post_id, tag, created_at) "
+            + "VALUES (?, ?, ?) ON CONFLICT (tag, post_id) DO NOTHING";
+
+    private final HashtagExtractor hashtagExtractor;
+    private final PostHashtagRepository postHashtagRepository;
+    private final TrendingHashtags trendingHashtags;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void indexPost(Long postId, String content, boolean isPublic, boolean newPost) {
+        Set<String> tags = hashtagExtractor.extract(content);
+        Set<String> added = new HashSet<>(tags);
+
+        if (!newPost) {
+            List<String> existing = postHashtagRepository.findTagsByPostId(postId);
+            added.removeAll(existing);
+
+            Set<String> removed = new HashSet<>(existing);
+            removed.removeAll(tags);
+            if (!removed.isEmpty()) {
+                postHashtagRepository.deleteByPostIdAndTagIn(postId, removed);
+            }
+        }
+
+        if (added.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, added.stream()
+                .map(tag -> new Object[]{postId, tag, now})
+                .toList());
+        log.debug("Indexed {} hashtags for post {}", added.size(), postId);
+
+        if (isPublic) {
+            recordTrendingAfterCommit(added);
+        }
+    }
+
+    /**
+     * Feeds the tags of a scheduled post to {@link TrendingHashtags} as it is published;
+     * they were indexed while the post was still private.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void postPublished(String content, boolean isPublic) {
+        Set<String> tags = hashtagExtractor.extract(content);
+        if (isPublic && !tags.isEmpty()) {
+            recordTrendingAfterCommit(tags);
+        }
+    }
+
+    private void recordTrendingAfterCommit(Set<String> tags) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                trendingHashtags.record(tags);
+            }
+        });
+    }
+}
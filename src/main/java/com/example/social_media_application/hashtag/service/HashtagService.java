@@ -0,0 +1,71 @@
+package com.example.social_media_application.hashtag.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.HashtagConfig;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.hashtag.dto.HashtagPostPageResponse;
+import com.example.social_media_application.hashtag.dto.TrendingHashtagResponse;
+import com.example.social_media_application.hashtag.repository.PostHashtagRepository;
+import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.service.PostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HashtagService {
+
+    private final PostHashtagRepository postHashtagRepository;
+    private final UserRepository userRepository;
+    private final PostService postService;
+    private final HashtagExtractor hashtagExtractor;
+    private final TrendingHashtags trendingHashtags;
+    private final HashtagConfig hashtagConfig;
+
+    @Transactional(readOnly = true)
+    public HashtagPostPageResponse getPostsByTag(String tag, Long cursor, int size, String userEmail) {
+        log.info("Fetching posts for hashtag: {}, cursor: {}, user: {}", tag, cursor, userEmail);
+
+        User currentUser = getUserByEmail(userEmail);
+        String normalized = hashtagExtractor.normalize(tag);
+        if (normalized == null) {
+            return HashtagPostPageResponse.builder().tag(tag).content(List.of()).build();
+        }
+
+        int pageSize = Math.max(1, Math.min(size, hashtagConfig.getMaxPageSize()));
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        List<Long> postIds = cursor == null
+                ? postHashtagRepository.findVisiblePostIds(normalized, currentUser.getId(), limit)
+                : postHashtagRepository.findVisiblePostIdsBefore(normalized, currentUser.getId(), cursor, limit);
+
+        List<PostResponse> content = postService.getPostsInOrder(postIds, currentUser);
+
+        Long nextCursor = postIds.size() == pageSize
+                ? postIds.get(postIds.size() - 1)
+                : null;
+
+        return HashtagPostPageResponse.builder()
+                .tag(normalized)
+                .content(content)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public List<TrendingHashtagResponse> getTrending() {
+        return trendingHashtags.top();
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
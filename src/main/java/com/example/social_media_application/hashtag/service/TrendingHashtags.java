@@ -0,0 +1,145 @@
+package com.example.social_media_application.hashtag.service;
+
+import com.example.social_media_application.common.sketch.CountMinSketch;
+import com.example.social_media_application.config.HashtagConfig;
+import com.example.social_media_application.hashtag.dto.TrendingHashtagResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding-window hashtag counts without touching the database.
+ *
+ * <p>The window is a ring of Count-Min sketches, one per bucket; recording a tag
+ * increments the current bucket and re-estimates the tag across the ring, which is a
+ * constant {@code buckets x depth} reads. A bounded min-heap keeps the heaviest tags
+ * seen so far. When a bucket expires it is cleared and the heap is re-scored, so tags
+ * that stop being used fall out of the ranking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingHashtags {
+
+    // Track more candidates than are shown so ties near the cut-off do not churn the list
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private record Candidate(String tag, long count) {
+    }
+
+    private final HashtagConfig hashtagConfig;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Long> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::count));
+    private CountMinSketch[] buckets;
+    private int capacity;
+    private volatile int current;
+    private volatile List<TrendingHashtagResponse> snapshot = List.of();
+    private volatile boolean dirty;
+
+    @PostConstruct
+    void init() {
+        buckets = new CountMinSketch[Math.max(1, hashtagConfig.getTrendingBuckets())];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new CountMinSketch(hashtagConfig.getSketchWidth(), hashtagConfig.getSketchDepth());
+        }
+        capacity = Math.max(1, hashtagConfig.getTrendingSize()) * CANDIDATE_FACTOR;
+    }
+
+    public void record(Collection<String> tags) {
+        CountMinSketch bucket = buckets[current];
+        for (String tag : tags) {
+            bucket.increment(tag);
+        }
+
+        lock.lock();
+        try {
+            for (String tag : tags) {
+                offer(tag, estimate(tag));
+            }
+            dirty = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TrendingHashtagResponse> top() {
+        if (!dirty) {
+            return snapshot;
+        }
+        lock.lock();
+        try {
+            if (dirty) {
+                snapshot = candidates.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                                .thenComparing(Map.Entry.comparingByKey()))
+                        .limit(hashtagConfig.getTrendingSize())
+                        .map(e -> new TrendingHashtagResponse(e.getKey(), e.getValue()))
+                        .toList();
+                dirty = false;
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${hashtags.trending-bucket-ms:300000}",
+            initialDelayString = "${hashtags.trending-bucket-ms:300000}")
+    public void rotate() {
+        lock.lock();
+        try {
+            // Clear the oldest bucket before making it current so writers never see stale counts in it
+            int next = (current + 1) % buckets.length;
+            buckets[next].clear();
+            current = next;
+
+            List<String> tags = new ArrayList<>(candidates.keySet());
+            candidates.clear();
+            heap.clear();
+            for (String tag : tags) {
+                long count = estimate(tag);
+                if (count > 0) {
+                    offer(tag, count);
+                }
+            }
+            dirty = true;
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Rotated trending window, {} candidate hashtags", candidates.size());
+    }
+
+    private long estimate(String tag) {
+        long total = 0;
+        for (CountMinSketch bucket : buckets) {
+            total += bucket.estimate(tag);
+        }
+        return total;
+    }
+
+    private void offer(String tag, long count) {
+        Long existing = candidates.get(tag);
+        if (existing != null) {
+            heap.remove(new Candidate(tag, existing));
+        } else if (candidates.size() >= capacity) {
+            if (heap.peek().count() >= count) {
+                return;
+            }
+            candidates.remove(heap.poll().tag());
+        }
+        candidates.put(tag, count);
+        heap.add(new Candidate(tag, count));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.social_media_application.live.controller;
+
+import com.example.social_media_application.live.dto.WatchRequest;
+import com.example.social_media_application.live.service.LiveFeedService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/posts/live")
+@RequiredArgsConstructor
+public class LiveFeedController {
+
+    private final LiveFeedService liveFeedService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter connect(@RequestParam(required = false) List<Long> watch,
+                              @AuthenticationPrincipal UserDetails userDetails) {
+        return liveFeedService.connect(userDetails.getUsername(), watch);
+    }
+
+    @PutMapping("/{connectionId}/watch")
+    public ResponseEntity<Set<Long>> watch(@PathVariable String connectionId,
+                                           @Valid @RequestBody WatchRequest request,
+                                           @AuthenticationPrincipal UserDetails userDetails) {
+        Set<Long> watched = liveFeedService.watch(connectionId, request.getPostIds(), userDetails.getUsername());
+        return ResponseEntity.ok(watched);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.social_media_application.live.dto;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveCommentMessage {
+
+    public enum Type { CREATED, UPDATED, DELETED, LIKES }
+
+    private Type type;
+    private Long postId;
+    private Long commentId;
+    private Long parentCommentId;
+    private UserResponse user;
+    private String content;
+    private Integer likeDelta;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.social_media_application.live.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveCounterDelta {
+    private Long postId;
+    private Integer likeDelta;
+    private Integer commentDelta;
+
+    public LiveCounterDelta plus(LiveCounterDelta other) {
+        return new LiveCounterDelta(postId, likeDelta + other.likeDelta, commentDelta + other.commentDelta);
+    }
+}
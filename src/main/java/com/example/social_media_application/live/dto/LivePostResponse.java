@@ -0,0 +1,22 @@
+package com.example.social_media_application.live.dto;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivePostResponse {
+    private Long id;
+    private UserResponse user;
+    private String content;
+    private String imageUrl;
+    private Boolean isPublic;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.example.social_media_application.live.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WatchRequest {
+
+    @NotNull(message = "Post ids are required")
+    private List<Long> postIds;
+}
@@ -0,0 +1,43 @@
+package com.example.social_media_application.live.service;
+
+import com.example.social_media_application.common.pg.PgNotifyHub;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fans comment events out to every node through Postgres NOTIFY. Payloads are
+ * compact id tuples ({@code type:postId:commentId:parentId}); each node loads the
+ * comment itself only if it has subscribers for the post.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentStreamPublisher implements DomainEventConsumer {
+
+    static final String CHANNEL = "comment_stream";
+
+    private final PgNotifyHub pgNotifyHub;
+
+    @Override
+    public String getName() {
+        return "comment-stream";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case COMMENT_CREATED, COMMENT_UPDATED, COMMENT_DELETED, COMMENT_LIKED, COMMENT_UNLIKED ->
+                        pgNotifyHub.publish(CHANNEL, event.getType().name() + ":" + event.getPostId() + ":"
+                                + event.getCommentId() + ":" + (event.getParentCommentId() != null ? event.getParentCommentId() : ""));
+                default -> {
+                }
+            }
+        }
+    }
+}
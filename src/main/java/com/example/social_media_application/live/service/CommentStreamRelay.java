@@ -0,0 +1,111 @@
+package com.example.social_media_application.live.service;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.comment.model.Comment;
+import com.example.social_media_application.comment.repository.CommentRepository;
+import com.example.social_media_application.common.pg.PgNotifyHub;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.live.dto.LiveCommentMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receives comment notifications from every node and pushes them to the local
+ * STOMP topic {@code /topic/posts/{postId}/comments}. Like/unlike bursts are
+ * coalesced per comment and pushed as a single delta on the next tick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentStreamRelay {
+
+    private final PgNotifyHub pgNotifyHub;
+    private final CommentStreamSubscriptions subscriptions;
+    private final CommentRepository commentRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<Long, LiveCommentMessage> pendingLikes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        pgNotifyHub.subscribe(CommentStreamPublisher.CHANNEL, this::onNotification);
+    }
+
+    void onNotification(String payload) {
+        String[] parts = payload.split(":", -1);
+        DomainEventType type = DomainEventType.valueOf(parts[0]);
+        Long postId = Long.valueOf(parts[1]);
+        Long commentId = Long.valueOf(parts[2]);
+        Long parentCommentId = parts[3].isEmpty() ? null : Long.valueOf(parts[3]);
+
+        if (!subscriptions.hasSubscribers(postId)) {
+            return;
+        }
+
+        switch (type) {
+            case COMMENT_CREATED, COMMENT_UPDATED -> commentRepository.findWithUserById(commentId)
+                    .ifPresent(comment -> send(postId, mapToMessage(comment, postId, parentCommentId,
+                            type == DomainEventType.COMMENT_CREATED ? LiveCommentMessage.Type.CREATED : LiveCommentMessage.Type.UPDATED)));
+            case COMMENT_DELETED -> send(postId, LiveCommentMessage.builder()
+                    .type(LiveCommentMessage.Type.DELETED)
+                    .postId(postId)
+                    .commentId(commentId)
+                    .parentCommentId(parentCommentId)
+                    .build());
+            case COMMENT_LIKED -> addLikeDelta(postId, commentId, 1);
+            case COMMENT_UNLIKED -> addLikeDelta(postId, commentId, -1);
+            default -> {
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.like-flush-interval-ms:250}")
+    public void flushLikes() {
+        for (Long commentId : pendingLikes.keySet()) {
+            LiveCommentMessage message = pendingLikes.remove(commentId);
+            if (message != null && message.getLikeDelta() != 0) {
+                send(message.getPostId(), message);
+            }
+        }
+    }
+
+    private void addLikeDelta(Long postId, Long commentId, int delta) {
+        pendingLikes.merge(commentId,
+                LiveCommentMessage.builder().type(LiveCommentMessage.Type.LIKES).postId(postId).commentId(commentId).likeDelta(delta).build(),
+                (current, added) -> {
+                    current.setLikeDelta(current.getLikeDelta() + added.getLikeDelta());
+                    return current;
+                });
+    }
+
+    private void send(Long postId, LiveCommentMessage message) {
+        messagingTemplate.convertAndSend("/topic/posts/" + postId + "/comments", message);
+    }
+
+    private LiveCommentMessage mapToMessage(Comment comment, Long postId, Long parentCommentId, LiveCommentMessage.Type type) {
+        User user = comment.getUser();
+        return LiveCommentMessage.builder()
+                .type(type)
+                .postId(postId)
+                .commentId(comment.getId())
+                .parentCommentId(parentCommentId)
+                .user(UserResponse.builder()
+                        .id(user.getId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .email(user.getEmail())
+                        .createdAt(user.getCreatedAt())
+                        .build())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.social_media_application.live.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks which posts have local STOMP subscribers so that a node only loads and
+ * pushes comment updates for posts somebody on that node is actually watching.
+ */
+@Component
+public class CommentStreamSubscriptions {
+
+    private static final Pattern COMMENT_TOPIC = Pattern.compile("^/topic/posts/(\\d+)/comments$");
+
+    private final Map<Long, AtomicInteger> subscribersByPost = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    public boolean hasSubscribers(Long postId) {
+        AtomicInteger count = subscribersByPost.get(postId);
+        return count != null && count.get() > 0;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getDestination() == null) {
+            return;
+        }
+        Matcher matcher = COMMENT_TOPIC.matcher(accessor.getDestination());
+        if (!matcher.matches()) {
+            return;
+        }
+
+        Long postId = Long.valueOf(matcher.group(1));
+        subscriptionsBySession.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), postId);
+        subscribersByPost.computeIfAbsent(postId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions != null) {
+            release(subscriptions.remove(accessor.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        subscribersByPost.computeIfPresent(postId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
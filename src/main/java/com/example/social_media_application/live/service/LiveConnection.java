@@ -0,0 +1,163 @@
+package com.example.social_media_application.live.service;
+
+import com.example.social_media_application.live.dto.LiveCounterDelta;
+import com.example.social_media_application.live.dto.LivePostResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE client. Updates are never written from the publishing thread: they are
+ * buffered here (new posts in a bounded queue, counter deltas coalesced per post)
+ * and written by the sender pool. A client that cannot keep up overflows its
+ * queue and is told to resync instead of growing the buffer.
+ *
+ * <p>Writes block until the client's socket takes them. A write that runs past the
+ * send time limit is marked stalled so the sender pool can replace its thread; the
+ * connection keeps buffering meanwhile and resyncs once the write returns.
+ */
+public class LiveConnection {
+
+    private final String id;
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final Set<Long> watchedPostIds = ConcurrentHashMap.newKeySet();
+    private final ArrayBlockingQueue<LivePostResponse> pendingPosts;
+    private final Map<Long, LiveCounterDelta> pendingCounts = new ConcurrentHashMap<>();
+    private final Set<Long> pendingDeletes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+    private volatile long writeStartedAt;
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    public LiveConnection(String id, Long userId, SseEmitter emitter, int sendBufferSize) {
+        this.id = id;
+        this.userId = userId;
+        this.emitter = emitter;
+        this.pendingPosts = new ArrayBlockingQueue<>(sendBufferSize);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public Set<Long> getWatchedPostIds() {
+        return watchedPostIds;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void markClosed() {
+        closed = true;
+    }
+
+    public void offerPost(LivePostResponse post) {
+        if (!pendingPosts.offer(post)) {
+            overflowed = true;
+        }
+    }
+
+    public void addCounts(LiveCounterDelta delta) {
+        pendingCounts.merge(delta.getPostId(), delta, LiveCounterDelta::plus);
+    }
+
+    public void addDelete(Long postId) {
+        pendingCounts.remove(postId);
+        pendingDeletes.add(postId);
+    }
+
+    public boolean hasPending(long now, long heartbeatIntervalMs) {
+        return overflowed || !pendingPosts.isEmpty() || !pendingCounts.isEmpty() || !pendingDeletes.isEmpty()
+                || now - lastSentAt >= heartbeatIntervalMs;
+    }
+
+    public boolean tryBeginSend() {
+        return sending.compareAndSet(false, true);
+    }
+
+    public void endSend() {
+        sending.set(false);
+    }
+
+    /**
+     * Marks the write in progress as stalled once it has run for the send time limit.
+     * Returns true only for the call that marked it.
+     */
+    public boolean markStalled(long now, long sendTimeLimitMs) {
+        long startedAt = writeStartedAt;
+        return startedAt != 0 && now - startedAt >= sendTimeLimitMs && stalled.compareAndSet(false, true);
+    }
+
+    /** Clears the stalled mark after the write returned; true if it was set. */
+    public boolean clearStalled() {
+        return stalled.compareAndSet(true, false);
+    }
+
+    /**
+     * Writes everything buffered so far as one burst of SSE events. Only ever
+     * called by a single sender at a time (see {@link #tryBeginSend()}).
+     */
+    public void flush() throws IOException {
+        writeStartedAt = System.currentTimeMillis();
+        try {
+            write();
+        } finally {
+            writeStartedAt = 0;
+        }
+    }
+
+    private void write() throws IOException {
+        boolean sentAny = false;
+        if (overflowed) {
+            sentAny = true;
+            overflowed = false;
+            pendingPosts.clear();
+            emitter.send(SseEmitter.event().name("resync").data("feed"));
+        }
+
+        List<LivePostResponse> posts = new ArrayList<>(pendingPosts.size());
+        pendingPosts.drainTo(posts);
+        for (LivePostResponse post : posts) {
+            emitter.send(SseEmitter.event().name("post").id(String.valueOf(post.getId())).data(post));
+            sentAny = true;
+        }
+
+        for (Long postId : pendingCounts.keySet()) {
+            LiveCounterDelta delta = pendingCounts.remove(postId);
+            if (delta != null && (delta.getLikeDelta() != 0 || delta.getCommentDelta() != 0)) {
+                emitter.send(SseEmitter.event().name("counts").data(delta));
+                sentAny = true;
+            }
+        }
+
+        for (Long postId : pendingDeletes) {
+            pendingDeletes.remove(postId);
+            emitter.send(SseEmitter.event().name("post-deleted").data(postId));
+            sentAny = true;
+        }
+
+        if (!sentAny) {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+        lastSentAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.social_media_application.live.service;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import com.example.social_media_application.live.dto.LiveCounterDelta;
+import com.example.social_media_application.live.dto.LivePostResponse;
+import com.example.social_media_application.post.model.Post;
+import com.example.social_media_application.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns committed events into buffered SSE updates. New posts go to every
+ * connection that may see them; like/comment changes only to watchers of the post.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveFeedEventConsumer implements DomainEventConsumer {
+
+    private final LiveSubscriptionRegistry registry;
+    private final PostRepository postRepository;
+
+    @Override
+    public String getName() {
+        return "live-feed";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        if (registry.isEmpty()) {
+            return;
+        }
+
+        List<Long> createdPostIds = new ArrayList<>();
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case POST_CREATED -> createdPostIds.add(event.getPostId());
+                case POST_DELETED -> registry.forEachWatcher(event.getPostId(), c -> c.addDelete(event.getPostId()));
+                case POST_LIKED -> addCounts(event.getPostId(), 1, 0);
+                case POST_UNLIKED -> addCounts(event.getPostId(), -1, 0);
+                case COMMENT_CREATED -> addCounts(event.getPostId(), 0, 1);
+                case COMMENT_DELETED -> addCounts(event.getPostId(), 0, -1);
+                default -> {
+                }
+            }
+        }
+
+        if (!createdPostIds.isEmpty()) {
+            for (Post post : postRepository.findAllWithUserByIdIn(createdPostIds)) {
+                LivePostResponse response = mapToLivePostResponse(post);
+                if (Boolean.TRUE.equals(post.getIsPublic())) {
+                    registry.all().forEach(connection -> connection.offerPost(response));
+                } else {
+                    registry.forEachConnectionOfUser(post.getUser().getId(), connection -> connection.offerPost(response));
+                }
+            }
+        }
+    }
+
+    private void addCounts(Long postId, int likeDelta, int commentDelta) {
+        LiveCounterDelta delta = new LiveCounterDelta(postId, likeDelta, commentDelta);
+        registry.forEachWatcher(postId, connection -> connection.addCounts(delta));
+    }
+
+    private LivePostResponse mapToLivePostResponse(Post post) {
+        User user = post.getUser();
+        return LivePostResponse.builder()
+                .id(post.getId())
+                .user(UserResponse.builder()
+                        .id(user.getId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .email(user.getEmail())
+                        .createdAt(user.getCreatedAt())
+                        .build())
+                .content(post.getContent())
+                .imageUrl(post.getImageUrl())
+                .isPublic(post.getIsPublic())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.social_media_application.live.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.LiveConfig;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.exception.UnauthorizedException;
+import com.example.social_media_application.post.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server side of the live feed. Open connections are held as async SseEmitters,
+ * so an idle client costs a registry entry and a socket rather than a Tomcat
+ * worker thread. A small sender pool drains per-connection buffers on a fixed tick.
+ *
+ * <p>SseEmitter writes block, and completing an emitter waits for its write, so a
+ * client that stops reading cannot be cut off while a write is stuck. Instead, each
+ * tick checks for writes running past {@code live.send-time-limit-ms}. For each one
+ * the pool gets an extra thread, up to {@code live.max-stalled-sends}, so the other
+ * clients keep their full share of senders. The stalled client keeps buffering and
+ * gets a resync if it overflows. When its write returns, the extra thread is dropped.
+ * If the write fails, for example when the server's connection timeout cuts off the
+ * client, the client is dropped too.
+ */
+@Service
+@Slf4j
+public class LiveFeedService {
+
+    private final LiveSubscriptionRegistry registry;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final LiveConfig liveConfig;
+    private final ThreadPoolExecutor sender;
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private final ReentrantLock resizeLock = new ReentrantLock();
+
+    public LiveFeedService(LiveSubscriptionRegistry registry,
+                           PostRepository postRepository,
+                           UserRepository userRepository,
+                           LiveConfig liveConfig,
+                           MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.liveConfig = liveConfig;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(liveConfig.getSenderThreads(), liveConfig.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(liveConfig.getMaxConnections()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "live-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("live.connections", registry, LiveSubscriptionRegistry::size).register(meterRegistry);
+        Gauge.builder("live.sender.queue", sender, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("live.sender.stalled", stalledSends, AtomicInteger::get)
+                .description("Sends blocked on a client past the send time limit")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter connect(String userEmail, List<Long> watchPostIds) {
+        User user = getUserByEmail(userEmail);
+        if (registry.size() >= liveConfig.getMaxConnections()) {
+            throw new IllegalStateException("Too many live connections, fall back to polling");
+        }
+
+        SseEmitter emitter = new SseEmitter(liveConfig.getEmitterTimeoutMs());
+        LiveConnection connection = new LiveConnection(UUID.randomUUID().toString(), user.getId(), emitter,
+                liveConfig.getSendBufferSize());
+
+        emitter.onCompletion(() -> registry.unregister(connection));
+        emitter.onTimeout(() -> registry.unregister(connection));
+        emitter.onError(ex -> registry.unregister(connection));
+
+        registry.register(connection);
+        registry.replaceWatched(connection, visibleIds(watchPostIds, user.getId()));
+
+        try {
+            emitter.send(SseEmitter.event().name("connected").data(connection.getId()));
+        } catch (IOException ex) {
+            registry.unregister(connection);
+            emitter.completeWithError(ex);
+        }
+
+        log.info("Live connection {} opened for user: {}", connection.getId(), userEmail);
+        return emitter;
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> watch(String connectionId, List<Long> postIds, String userEmail) {
+        User user = getUserByEmail(userEmail);
+        LiveConnection connection = registry.get(connectionId);
+        if (connection == null) {
+            throw new ResourceNotFoundException("Live connection not found with ID: " + connectionId);
+        }
+        if (!connection.getUserId().equals(user.getId())) {
+            throw new UnauthorizedException("You don't have permission to modify this live connection");
+        }
+
+        Set<Long> visible = visibleIds(postIds, user.getId());
+        registry.replaceWatched(connection, visible);
+        return visible;
+    }
+
+    @Scheduled(fixedDelayString = "${live.flush-interval-ms:500}")
+    public void flushConnections() {
+        long now = System.currentTimeMillis();
+        for (LiveConnection connection : registry.all()) {
+            if (connection.markStalled(now, liveConfig.getSendTimeLimitMs())) {
+                log.debug("Live connection {} has been writing for over {} ms", connection.getId(),
+                        liveConfig.getSendTimeLimitMs());
+                stalledSends.incrementAndGet();
+                resizeSender();
+                continue;
+            }
+            if (!connection.hasPending(now, liveConfig.getHeartbeatIntervalMs()) || !connection.tryBeginSend()) {
+                continue;
+            }
+            try {
+                sender.execute(() -> send(connection));
+            } catch (RejectedExecutionException ex) {
+                connection.endSend();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (LiveConnection connection : registry.all()) {
+            connection.getEmitter().complete();
+        }
+    }
+
+    private void send(LiveConnection connection) {
+        try {
+            if (!connection.isClosed()) {
+                connection.flush();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping live connection {}: {}", connection.getId(), ex.getMessage());
+            registry.unregister(connection);
+            connection.getEmitter().completeWithError(ex);
+        } finally {
+            if (connection.clearStalled()) {
+                stalledSends.decrementAndGet();
+                resizeSender();
+            }
+            connection.endSend();
+        }
+    }
+
+    // One extra sender per stalled send, up to the limit; threads above the core size exit once idle
+    private void resizeSender() {
+        resizeLock.lock();
+        try {
+            int size = liveConfig.getSenderThreads() + Math.min(stalledSends.get(), liveConfig.getMaxStalledSends());
+            if (size > sender.getMaximumPoolSize()) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else if (size < sender.getCorePoolSize()) {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    private Set<Long> visibleIds(List<Long> postIds, Long userId) {
+        if (postIds == null || postIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> requested = postIds.stream().distinct().limit(liveConfig.getMaxWatchedPosts()).toList();
+        return new HashSet<>(postRepository.findVisibleIds(requested, userId));
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
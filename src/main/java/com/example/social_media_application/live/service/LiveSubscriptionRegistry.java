@@ -0,0 +1,105 @@
+package com.example.social_media_application.live.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free index of open SSE connections. Watchers are sharded by post id so a
+ * burst of updates on one viral post never contends with lookups for other posts.
+ */
+@Component
+public class LiveSubscriptionRegistry {
+
+    private static final int SHARD_COUNT = 64;
+
+    private final Map<String, LiveConnection> connections = new ConcurrentHashMap<>();
+    private final Map<Long, Set<LiveConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Set<LiveConnection>>[] watchersByPost;
+
+    @SuppressWarnings("unchecked")
+    public LiveSubscriptionRegistry() {
+        watchersByPost = new Map[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            watchersByPost[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    public boolean isEmpty() {
+        return connections.isEmpty();
+    }
+
+    public LiveConnection get(String connectionId) {
+        return connections.get(connectionId);
+    }
+
+    public Collection<LiveConnection> all() {
+        return connections.values();
+    }
+
+    public void register(LiveConnection connection) {
+        connections.put(connection.getId(), connection);
+        connectionsByUser.computeIfAbsent(connection.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(connection);
+    }
+
+    public void unregister(LiveConnection connection) {
+        if (connections.remove(connection.getId()) == null) {
+            return;
+        }
+        connection.markClosed();
+        connectionsByUser.computeIfPresent(connection.getUserId(), (id, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+        for (Long postId : connection.getWatchedPostIds()) {
+            removeWatcher(postId, connection);
+        }
+    }
+
+    public void replaceWatched(LiveConnection connection, Set<Long> postIds) {
+        for (Long postId : connection.getWatchedPostIds()) {
+            if (!postIds.contains(postId)) {
+                connection.getWatchedPostIds().remove(postId);
+                removeWatcher(postId, connection);
+            }
+        }
+        for (Long postId : postIds) {
+            if (connection.getWatchedPostIds().add(postId)) {
+                shardFor(postId).computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+            }
+        }
+    }
+
+    public void forEachWatcher(Long postId, Consumer<LiveConnection> action) {
+        Set<LiveConnection> watchers = shardFor(postId).get(postId);
+        if (watchers != null) {
+            watchers.forEach(action);
+        }
+    }
+
+    public void forEachConnectionOfUser(Long userId, Consumer<LiveConnection> action) {
+        Set<LiveConnection> userConnections = connectionsByUser.get(userId);
+        if (userConnections != null) {
+            userConnections.forEach(action);
+        }
+    }
+
+    private void removeWatcher(Long postId, LiveConnection connection) {
+        shardFor(postId).computeIfPresent(postId, (id, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private Map<Long, Set<LiveConnection>> shardFor(Long postId) {
+        return watchersByPost[(int) (postId & (SHARD_COUNT - 1))];
+    }
+}
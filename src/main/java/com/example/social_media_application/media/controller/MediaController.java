@@ -0,0 +1,70 @@
+package com.example.social_media_application.media.controller;
+
+import com.example.social_media_application.common.web.ConditionalRequests;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.media.dto.MediaResponse;
+import com.example.social_media_application.media.model.MediaObject;
+import com.example.social_media_application.media.service.MediaFileSender;
+import com.example.social_media_application.media.service.MediaService;
+import com.example.social_media_application.media.service.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/media")
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaService mediaService;
+    private final MediaStore mediaStore;
+    private final MediaFileSender mediaFileSender;
+    private final ConditionalRequests conditionalRequests;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaResponse> upload(@RequestParam("file") MultipartFile file,
+                                                @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        MediaResponse response = mediaService.upload(file, userDetails.getUsername());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    // Content-addressed bytes never change, so a matching If-None-Match needs no lookup at all
+    @GetMapping("/{hash}")
+    public void getMedia(@PathVariable String hash, WebRequest webRequest,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!MediaStore.isValidHash(hash)) {
+            throw new ResourceNotFoundException("Media not found with hash: " + hash);
+        }
+        if (conditionalRequests.checkNotModified(webRequest, "media.get", hash)) {
+            return;
+        }
+        MediaObject media = mediaService.getMediaOrThrow(hash);
+        mediaFileSender.send(mediaStore.path(hash), media.getContentType(), "\"" + hash + "\"", request, response);
+    }
+
+    @GetMapping("/{hash}/thumbnail")
+    public void getThumbnail(@PathVariable String hash, WebRequest webRequest,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path thumbnail = MediaStore.isValidHash(hash) ? mediaStore.thumbnailPath(hash) : null;
+        if (thumbnail == null || !Files.isRegularFile(thumbnail)) {
+            throw new ResourceNotFoundException("Thumbnail not found for media: " + hash);
+        }
+        String etag = hash + "-thumb";
+        if (conditionalRequests.checkNotModified(webRequest, "media.thumbnail", etag)) {
+            return;
+        }
+        mediaFileSender.send(thumbnail, MediaType.IMAGE_JPEG_VALUE, "\"" + etag + "\"", request, response);
+    }
+}
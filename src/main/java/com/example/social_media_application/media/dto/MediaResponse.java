@@ -0,0 +1,23 @@
+package com.example.social_media_application.media.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaResponse {
+    private String hash;
+    private String url;
+    private String thumbnailUrl;
+    private String contentType;
+    private Long sizeBytes;
+    private Integer width;
+    private Integer height;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,46 @@
+package com.example.social_media_application.media.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored upload, keyed by the SHA-256 of its bytes. The file itself lives in the
+ * local content-addressed store (see MediaStore); width, height and the thumbnail
+ * flag are filled in by the thumbnail worker.
+ */
+@Entity
+@Table(name = "media_objects")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaObject {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "has_thumbnail", nullable = false)
+    private Boolean hasThumbnail;
+
+    @Column(name = "uploaded_by")
+    private Long uploadedBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.example.social_media_application.media.repository;
+
+import com.example.social_media_application.media.model.MediaObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    /** Returns 1 for a new object and 0 when the same bytes were uploaded before. */
+    @Modifying
+    @Query(value = "INSERT INTO media_objects (hash, content_type, size_bytes, has_thumbnail, uploaded_by, created_at) " +
+            "VALUES (:hash, :contentType, :sizeBytes, false, :uploadedBy, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash,
+                       @Param("contentType") String contentType,
+                       @Param("sizeBytes") long sizeBytes,
+                       @Param("uploadedBy") Long uploadedBy);
+
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.width = :width, m.height = :height, m.hasThumbnail = :hasThumbnail WHERE m.hash = :hash")
+    int updateImageInfo(@Param("hash") String hash,
+                        @Param("width") int width,
+                        @Param("height") int height,
+                        @Param("hasThumbnail") boolean hasThumbnail);
+}
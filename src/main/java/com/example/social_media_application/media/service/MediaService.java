@@ -0,0 +1,108 @@
+package com.example.social_media_application.media.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.exception.InvalidMediaException;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.media.dto.MediaResponse;
+import com.example.social_media_application.media.model.MediaObject;
+import com.example.social_media_application.media.repository.MediaObjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+@Slf4j
+public class MediaService {
+
+    private final MediaStore mediaStore;
+    private final ThumbnailService thumbnailService;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MediaService(MediaStore mediaStore,
+                        ThumbnailService thumbnailService,
+                        MediaObjectRepository mediaObjectRepository,
+                        UserRepository userRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.mediaStore = mediaStore;
+        this.thumbnailService = thumbnailService;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Streams the upload into the store and registers it. Runs without a surrounding
+     * transaction so no connection is held while the file is copied.
+     */
+    public MediaResponse upload(MultipartFile file, String userEmail) throws IOException {
+        User user = getUserByEmail(userEmail);
+        if (file.isEmpty()) {
+            throw new InvalidMediaException("File is empty");
+        }
+
+        MediaStore.StoredFile stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = mediaStore.store(in);
+        }
+        log.info("Stored media {} ({} bytes) for user: {}", stored.hash(), stored.sizeBytes(), userEmail);
+
+        Integer inserted = transactionTemplate.execute(status -> mediaObjectRepository.insertIfAbsent(
+                stored.hash(), stored.contentType(), stored.sizeBytes(), user.getId()));
+        if (inserted != null && inserted > 0) {
+            thumbnailService.submit(stored.hash(), stored.contentType());
+        }
+        return getMedia(stored.hash());
+    }
+
+    @Transactional(readOnly = true)
+    public MediaResponse getMedia(String hash) {
+        return mapToResponse(getMediaOrThrow(hash));
+    }
+
+    @Transactional(readOnly = true)
+    public MediaObject getMediaOrThrow(String hash) {
+        if (!MediaStore.isValidHash(hash)) {
+            throw new ResourceNotFoundException("Media not found with hash: " + hash);
+        }
+        return mediaObjectRepository.findById(hash)
+                .orElseThrow(() -> new ResourceNotFoundException("Media not found with hash: " + hash));
+    }
+
+    /** The URL a post stores in {@code imageUrl} for uploaded media. */
+    @Transactional(readOnly = true)
+    public String getMediaUrl(String hash) {
+        getMediaOrThrow(hash);
+        return url(hash);
+    }
+
+    private MediaResponse mapToResponse(MediaObject media) {
+        return MediaResponse.builder()
+                .hash(media.getHash())
+                .url(url(media.getHash()))
+                .thumbnailUrl(Boolean.TRUE.equals(media.getHasThumbnail()) ? url(media.getHash()) + "/thumbnail" : null)
+                .contentType(media.getContentType())
+                .sizeBytes(media.getSizeBytes())
+                .width(media.getWidth())
+                .height(media.getHeight())
+                .createdAt(media.getCreatedAt())
+                .build();
+    }
+
+    private static String url(String hash) {
+        return "/media/" + hash;
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.social_media_application.media.service;
+
+import com.example.social_media_application.config.MediaConfig;
+import com.example.social_media_application.exception.InvalidMediaException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Local content-addressed file store. Uploads are streamed in fixed-size chunks into a
+ * temp file through a FileChannel while the SHA-256 is computed, then renamed to
+ * {@code <storage-dir>/<h0h1>/<h2h3>/<hash>}. The heap only ever holds one chunk, and a
+ * second upload of the same bytes just drops its temp file.
+ */
+@Component
+public class MediaStore {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int HEADER_SIZE = 12;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    public record StoredFile(String hash, String contentType, long sizeBytes) {
+    }
+
+    private final MediaConfig config;
+    private final Path root;
+    private final Path tmpDir;
+
+    public MediaStore(MediaConfig config) {
+        this.config = config;
+        this.root = Paths.get(config.getStorageDir()).toAbsolutePath();
+        this.tmpDir = root.resolve("tmp");
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    public Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public Path thumbnailPath(String hash) {
+        return path(hash).resolveSibling(hash + ".thumb.jpg");
+    }
+
+    /** Moves a finished file written elsewhere in the store (a thumbnail) into place. */
+    public void publish(Path tmpFile, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(tmpFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path createTempFile(String suffix) throws IOException {
+        Files.createDirectories(tmpDir);
+        return Files.createTempFile(tmpDir, "media-", suffix);
+    }
+
+    /**
+     * Streams {@code in} into the store. The content type is sniffed from the first bytes;
+     * anything that is not a supported image is rejected with InvalidMediaException.
+     */
+    public StoredFile store(InputStream in) throws IOException {
+        Path tmp = createTempFile(".part");
+        try {
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            byte[] header = new byte[HEADER_SIZE];
+            int headerLength = 0;
+            long size = 0;
+
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > config.getMaxFileBytes()) {
+                        throw new InvalidMediaException("File exceeds " + config.getMaxFileBytes() + " bytes");
+                    }
+                    if (headerLength < HEADER_SIZE) {
+                        int take = Math.min(HEADER_SIZE - headerLength, buffer.remaining());
+                        buffer.duplicate().get(header, headerLength, take);
+                        headerLength += take;
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(false);
+            }
+
+            String contentType = sniffContentType(header, headerLength);
+            if (contentType == null) {
+                throw new InvalidMediaException("Only JPEG, PNG, GIF and WebP images are supported");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (Files.exists(target)) {
+                Files.delete(tmp);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same bytes uploaded concurrently; the other copy is identical
+                    Files.delete(tmp);
+                }
+            }
+            return new StoredFile(hash, contentType, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static String sniffContentType(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == '\r' && header[5] == '\n' && header[6] == 0x1A && header[7] == '\n') {
+            return "image/png";
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return "image/gif";
+        }
+        if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.social_media_application.media.service;
+
+import com.example.social_media_application.config.MediaConfig;
+import com.example.social_media_application.media.repository.MediaObjectRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates JPEG thumbnails off the request path on a small fixed pool with a bounded
+ * queue. When the queue is full the upload still succeeds and the image simply has no
+ * thumbnail. Large images are decoded with source subsampling, so a worker never holds
+ * a full-resolution bitmap, and images above {@code max-pixels} are not decoded at all.
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+
+    private final MediaStore mediaStore;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final MediaConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final MeterRegistry meterRegistry;
+
+    public ThumbnailService(MediaStore mediaStore,
+                            MediaObjectRepository mediaObjectRepository,
+                            MediaConfig config,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.mediaStore = mediaStore;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(config.getThumbnailThreads(), config.getThumbnailThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getThumbnailQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("media.thumbnails.queue", workers, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public static boolean supports(String contentType) {
+        return SUPPORTED_TYPES.contains(contentType);
+    }
+
+    public void submit(String hash, String contentType) {
+        if (!supports(contentType)) {
+            return;
+        }
+        try {
+            workers.execute(() -> generate(hash));
+        } catch (RejectedExecutionException e) {
+            log.warn("Thumbnail queue full, skipping {}", hash);
+            count("rejected");
+        }
+    }
+
+    private void generate(String hash) {
+        Path source = mediaStore.path(hash);
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                count("failed");
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > config.getMaxPixels()) {
+                    recordImageInfo(hash, width, height, false);
+                    count("skipped");
+                    return;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (config.getThumbnailSize() * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+
+                writeThumbnail(hash, image);
+                recordImageInfo(hash, width, height, true);
+                count("generated");
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for {}: {}", hash, e.getMessage());
+            count("failed");
+        }
+    }
+
+    private void writeThumbnail(String hash, BufferedImage image) throws IOException {
+        double scale = Math.min(1.0, (double) config.getThumbnailSize() / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // JPEG has no alpha channel
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path tmp = mediaStore.createTempFile(".jpg");
+        try {
+            ImageIO.write(thumbnail, "jpg", tmp.toFile());
+            mediaStore.publish(tmp, mediaStore.thumbnailPath(hash));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void recordImageInfo(String hash, int width, int height, boolean hasThumbnail) {
+        transactionTemplate.executeWithoutResult(status ->
+                mediaObjectRepository.updateImageInfo(hash, width, height, hasThumbnail));
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("media.thumbnails", "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
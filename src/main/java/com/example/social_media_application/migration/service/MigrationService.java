@@ -0,0 +1,113 @@
+package com.example.social_media_application.migration.service;
+
+import com.example.social_media_application.config.MigrationConfig;
+import liquibase.Scope;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the Liquibase changelog. The SHA-256 of every packaged changelog file is
+ * stored after a successful update, so a node starting with an unchanged
+ * changelog can skip Liquibase's lock, parse and checksum validation entirely.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MigrationService {
+
+    private static final String CHANGELOG_PATTERN = "classpath*:db/changelog/**/*.yaml";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final MigrationConfig migrationConfig;
+
+    public String changelogChecksum() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(CHANGELOG_PATTERN);
+            Arrays.sort(resources, Comparator.comparing(this::relativePath));
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource resource : resources) {
+                digest.update(relativePath(resource).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot compute changelog checksum", ex);
+        }
+    }
+
+    public boolean isUpToDate(String checksum) {
+        try {
+            List<String> applied = jdbcTemplate.queryForList(
+                    "SELECT changelog_checksum FROM app_migration_state WHERE id = 1", String.class);
+            return !applied.isEmpty() && checksum.equals(applied.get(0));
+        } catch (DataAccessException ex) {
+            // First run: the state table does not exist yet
+            return false;
+        }
+    }
+
+    public void migrate(String checksum) {
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+
+            Scope.child(Map.of(Scope.Attr.resourceAccessor.name(), new ClassLoaderResourceAccessor(getClass().getClassLoader())), () ->
+                    new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                            .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                            .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, migrationConfig.getChangeLog())
+                            .execute());
+        } catch (Exception ex) {
+            throw new IllegalStateException("Database migration failed", ex);
+        }
+
+        recordChecksum(checksum);
+        log.info("Database migrated in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void recordChecksum(String checksum) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS app_migration_state ("
+                + "id int PRIMARY KEY, changelog_checksum varchar(64) NOT NULL, migrated_at timestamp NOT NULL)");
+        jdbcTemplate.update("INSERT INTO app_migration_state (id, changelog_checksum, migrated_at) VALUES (1, ?, now()) "
+                + "ON CONFLICT (id) DO UPDATE SET changelog_checksum = EXCLUDED.changelog_checksum, migrated_at = now()", checksum);
+    }
+
+    private String relativePath(Resource resource) {
+        try {
+            String url = resource.getURL().toString();
+            int index = url.lastIndexOf("db/changelog/");
+            return index >= 0 ? url.substring(index) : url;
+        } catch (IOException ex) {
+            return String.valueOf(resource.getFilename());
+        }
+    }
+}
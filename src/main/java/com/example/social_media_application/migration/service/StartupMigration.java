@@ -0,0 +1,50 @@
+package com.example.social_media_application.migration.service;
+
+import com.example.social_media_application.config.MigrationConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the schema before JPA starts, according to {@code migration.mode}.
+ * With {@code migration.exit-after-migration} the application exits once the
+ * context is up, which turns it into a one-shot migration command.
+ */
+@Component("startupMigration")
+@RequiredArgsConstructor
+@Slf4j
+public class StartupMigration implements ApplicationRunner {
+
+    private final MigrationService migrationService;
+    private final MigrationConfig migrationConfig;
+    private final ApplicationContext applicationContext;
+
+    @PostConstruct
+    public void migrateIfNeeded() {
+        switch (migrationConfig.getMode()) {
+            case OFF -> log.info("Startup migration disabled (migration.mode=off)");
+            case ALWAYS -> migrationService.migrate(migrationService.changelogChecksum());
+            case ON_CHANGE -> {
+                String checksum = migrationService.changelogChecksum();
+                if (migrationService.isUpToDate(checksum)) {
+                    log.info("Changelog unchanged ({}), skipping Liquibase", checksum.substring(0, 12));
+                } else {
+                    migrationService.migrate(checksum);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrationConfig.isExitAfterMigration()) {
+            log.info("Migration finished, exiting");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.social_media_application.notification.controller;
+
+import com.example.social_media_application.notification.dto.MarkReadRequest;
+import com.example.social_media_application.notification.dto.NotificationPageResponse;
+import com.example.social_media_application.notification.dto.UnreadCountResponse;
+import com.example.social_media_application.notification.service.NotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping
+    public ResponseEntity<NotificationPageResponse> getInbox(@RequestParam(required = false) Long cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             @AuthenticationPrincipal UserDetails userDetails) {
+        NotificationPageResponse response = notificationService.getInbox(userDetails.getUsername(), cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(@AuthenticationPrincipal UserDetails userDetails) {
+        UnreadCountResponse response = notificationService.getUnreadCount(userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<UnreadCountResponse> markAsRead(@Valid @RequestBody MarkReadRequest request,
+                                                          @AuthenticationPrincipal UserDetails userDetails) {
+        UnreadCountResponse response = notificationService.markAsRead(request, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+}
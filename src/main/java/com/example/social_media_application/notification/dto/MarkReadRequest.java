@@ -0,0 +1,15 @@
+package com.example.social_media_application.notification.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MarkReadRequest {
+
+    @Size(max = 500, message = "At most 500 notifications can be marked at once")
+    private List<Long> ids;
+
+    private Boolean all = false;
+}
@@ -0,0 +1,18 @@
+package com.example.social_media_application.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+    private List<NotificationResponse> content;
+    private Long nextCursor;
+    private Long unreadCount;
+}
@@ -0,0 +1,26 @@
+package com.example.social_media_application.notification.dto;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.notification.model.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private Long id;
+    private NotificationType type;
+    private Long postId;
+    private Long commentId;
+    private UserResponse lastActor;
+    private Integer actorCount;
+    private String message;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.example.social_media_application.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountResponse {
+    private Long unreadCount;
+}
@@ -0,0 +1,60 @@
+package com.example.social_media_application.notification.model;
+
+import com.example.social_media_application.auth.model.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only inbox row. Rows are written in batches by NotificationBatchWriter, which
+ * replaces a recent unread row with a new one when it merges more actors into it; the
+ * only in-place change is read_at when the recipient marks it as read.
+ */
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_recipient_id", columnList = "recipient_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private NotificationType type;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_actor_id", nullable = false)
+    private User lastActor;
+
+    @Column(name = "actor_count", nullable = false)
+    private Integer actorCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,10 @@
+package com.example.social_media_application.notification.model;
+
+public enum NotificationType {
+    POST_LIKED,
+    POST_COMMENTED,
+    COMMENT_REPLIED,
+    COMMENT_LIKED,
+    MENTIONED_IN_POST,
+    MENTIONED_IN_COMMENT
+}
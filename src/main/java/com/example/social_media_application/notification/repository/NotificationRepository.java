@@ -0,0 +1,35 @@
+package com.example.social_media_application.notification.repository;
+
+import com.example.social_media_application.notification.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // First inbox page, newest first
+    @Query("SELECT n FROM Notification n JOIN FETCH n.lastActor WHERE n.recipientId = :recipientId ORDER BY n.id DESC")
+    List<Notification> findInbox(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    // Following inbox pages, keyed on the last id seen
+    @Query("SELECT n FROM Notification n JOIN FETCH n.lastActor WHERE n.recipientId = :recipientId AND n.id < :cursor ORDER BY n.id DESC")
+    List<Notification> findInboxBefore(@Param("recipientId") Long recipientId, @Param("cursor") Long cursor, Pageable pageable);
+
+    long countByRecipientIdAndReadAtIsNull(Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :now WHERE n.recipientId = :recipientId AND n.id IN :ids AND n.readAt IS NULL")
+    int markRead(@Param("recipientId") Long recipientId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :now WHERE n.recipientId = :recipientId AND n.readAt IS NULL")
+    int markAllRead(@Param("recipientId") Long recipientId, @Param("now") LocalDateTime now);
+}
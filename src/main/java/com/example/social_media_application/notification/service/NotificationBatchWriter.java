@@ -0,0 +1,144 @@
+package com.example.social_media_application.notification.service;
+
+import com.example.social_media_application.config.NotificationConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes coalesced notifications in one transaction: claims the source events, then
+ * merges every key into the recipient's inbox with a single statement.
+ *
+ * <p>It is called from the event consumer on the dispatcher thread, before the batch of
+ * events is acknowledged in the outbox. Events are therefore only marked dispatched
+ * once their notifications have committed; if the write fails, the exception fails
+ * the batch and the outbox relay redelivers it. The relay also redelivers batches in
+ * which another consumer failed, so each event id is first claimed in
+ * notification_deliveries and events claimed before are left out.
+ *
+ * <p>A key's actors are merged into the recipient's unread row for the same target if
+ * that row is younger than the merge window. The row is replaced rather than updated,
+ * so it takes a new id and moves to the top of the inbox like any new notification.
+ * Actors are counted per event, so one who likes a post twice within the window is
+ * counted twice.
+ */
+@Component
+@Slf4j
+public class NotificationBatchWriter {
+
+    private static final String CLAIM_SQL = "INSERT INTO notification_deliveries (event_id) "
+            + "SELECT unnest(?::bigint[]) ON CONFLICT DO NOTHING RETURNING event_id";
+
+    // Deletes the unread rows being merged into and inserts one row per key carrying their actor counts
+    private static final String MERGE_SQL = "WITH pending AS ("
+            + "SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::bigint[], ?::bigint[], ?::bigint[], ?::int[]) "
+            + "AS p(recipient_id, type, post_id, comment_id, last_actor_id, actor_count)), "
+            + "merged AS (DELETE FROM notifications n USING pending p "
+            + "WHERE n.recipient_id = p.recipient_id AND n.read_at IS NULL AND n.created_at >= ? "
+            + "AND n.type = p.type AND n.post_id IS NOT DISTINCT FROM p.post_id "
+            + "AND n.comment_id IS NOT DISTINCT FROM p.comment_id "
+            + "RETURNING n.recipient_id, n.type, n.post_id, n.comment_id, n.actor_count) "
+            + "INSERT INTO notifications (recipient_id, type, post_id, comment_id, last_actor_id, actor_count, created_at) "
+            + "SELECT p.recipient_id, p.type, p.post_id, p.comment_id, p.last_actor_id, "
+            + "p.actor_count + coalesce((SELECT sum(m.actor_count) FROM merged m "
+            + "WHERE m.recipient_id = p.recipient_id AND m.type = p.type "
+            + "AND m.post_id IS NOT DISTINCT FROM p.post_id AND m.comment_id IS NOT DISTINCT FROM p.comment_id), 0), ? "
+            + "FROM pending p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadCountStore unreadCountStore;
+    private final TransactionTemplate transactionTemplate;
+    private final long mergeWindowMinutes;
+
+    public NotificationBatchWriter(JdbcTemplate jdbcTemplate,
+                                   UnreadCountStore unreadCountStore,
+                                   PlatformTransactionManager transactionManager,
+                                   NotificationConfig notificationConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadCountStore = unreadCountStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mergeWindowMinutes = notificationConfig.getMergeWindowMinutes();
+    }
+
+    /** Writes the notifications of events not written before; actors are in event order. */
+    public void write(List<SourcedNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        Integer written = transactionTemplate.execute(status -> {
+            Set<Long> claimed = claim(notifications);
+            Map<PendingNotification, Set<Long>> pending = new LinkedHashMap<>();
+            for (SourcedNotification notification : notifications) {
+                if (notification.eventId() != null && !claimed.contains(notification.eventId())) {
+                    continue;
+                }
+                // Insertion order keeps the most recent actor last
+                Set<Long> actors = pending.computeIfAbsent(notification.key(), k -> new LinkedHashSet<>());
+                actors.remove(notification.actorId());
+                actors.add(notification.actorId());
+            }
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            merge(pending);
+            return pending.size();
+        });
+        log.debug("Wrote {} coalesced notifications for {} events", written, notifications.size());
+    }
+
+    private Set<Long> claim(List<SourcedNotification> notifications) {
+        Long[] eventIds = notifications.stream()
+                .map(SourcedNotification::eventId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+        if (eventIds.length == 0) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(CLAIM_SQL, Long.class, (Object) eventIds));
+    }
+
+    private void merge(Map<PendingNotification, Set<Long>> pending) {
+        int size = pending.size();
+        Long[] recipientIds = new Long[size];
+        String[] types = new String[size];
+        Long[] postIds = new Long[size];
+        Long[] commentIds = new Long[size];
+        Long[] lastActorIds = new Long[size];
+        Integer[] actorCounts = new Integer[size];
+        Set<Long> recipients = new HashSet<>();
+
+        int i = 0;
+        for (Map.Entry<PendingNotification, Set<Long>> entry : pending.entrySet()) {
+            PendingNotification key = entry.getKey();
+            List<Long> actors = new ArrayList<>(entry.getValue());
+            recipientIds[i] = key.recipientId();
+            types[i] = key.type().name();
+            postIds[i] = key.postId();
+            commentIds[i] = key.commentId();
+            lastActorIds[i] = actors.get(actors.size() - 1);
+            actorCounts[i] = actors.size();
+            recipients.add(key.recipientId());
+            i++;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(MERGE_SQL, recipientIds, types, postIds, commentIds, lastActorIds, actorCounts,
+                Timestamp.valueOf(now.minusMinutes(mergeWindowMinutes)), Timestamp.valueOf(now));
+        recipients.forEach(unreadCountStore::invalidate);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.social_media_application.notification.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import com.example.social_media_application.notification.model.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a dispatcher batch of events into notifications and writes them before
+ * returning; {@link NotificationBatchWriter} coalesces them by
+ * {@link PendingNotification} key and skips events it has already written.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventConsumer implements DomainEventConsumer {
+
+    private final NotificationBatchWriter notificationBatchWriter;
+
+    @Override
+    public String getName() {
+        return "notifications";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        List<SourcedNotification> notifications = new ArrayList<>();
+        for (DomainEvent event : events) {
+            if (event.getRecipientId() == null || event.getRecipientId().equals(event.getActorId())) {
+                continue;
+            }
+
+            switch (event.getType()) {
+                case POST_LIKED -> add(notifications, event,
+                        NotificationType.POST_LIKED, event.getPostId(), null);
+                case COMMENT_LIKED -> add(notifications, event,
+                        NotificationType.COMMENT_LIKED, event.getPostId(), event.getCommentId());
+                case COMMENT_CREATED -> {
+                    if (event.getParentCommentId() != null) {
+                        add(notifications, event, NotificationType.COMMENT_REPLIED,
+                                event.getPostId(), event.getParentCommentId());
+                    } else {
+                        add(notifications, event, NotificationType.POST_COMMENTED,
+                                event.getPostId(), null);
+                    }
+                }
+                case USER_MENTIONED -> add(notifications, event,
+                        event.getCommentId() != null ? NotificationType.MENTIONED_IN_COMMENT : NotificationType.MENTIONED_IN_POST,
+                        event.getPostId(), event.getCommentId());
+                default -> {
+                }
+            }
+        }
+        // A failed write throws, so the dispatcher leaves the whole batch to the outbox relay
+        notificationBatchWriter.write(notifications);
+    }
+
+    private static void add(List<SourcedNotification> notifications, DomainEvent event, NotificationType type,
+                            Long postId, Long commentId) {
+        notifications.add(new SourcedNotification(event.getId(),
+                new PendingNotification(event.getRecipientId(), type, postId, commentId), event.getActorId()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.social_media_application.notification.service;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.NotificationConfig;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.notification.dto.MarkReadRequest;
+import com.example.social_media_application.notification.dto.NotificationPageResponse;
+import com.example.social_media_application.notification.dto.NotificationResponse;
+import com.example.social_media_application.notification.dto.UnreadCountResponse;
+import com.example.social_media_application.notification.model.Notification;
+import com.example.social_media_application.notification.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final UnreadCountStore unreadCountStore;
+    private final NotificationConfig notificationConfig;
+
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getInbox(String userEmail, Long cursor, int size) {
+        log.info("Fetching notifications for user: {}, cursor: {}", userEmail, cursor);
+
+        User user = getUserByEmail(userEmail);
+        int pageSize = Math.max(1, Math.min(size, notificationConfig.getMaxPageSize()));
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findInbox(user.getId(), limit)
+                : notificationRepository.findInboxBefore(user.getId(), cursor, limit);
+
+        List<NotificationResponse> content = notifications.stream()
+                .map(this::mapToNotificationResponse)
+                .collect(Collectors.toList());
+
+        Long nextCursor = notifications.size() == pageSize
+                ? notifications.get(notifications.size() - 1).getId()
+                : null;
+
+        return NotificationPageResponse.builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .unreadCount(unreadCountStore.get(user.getId()))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public UnreadCountResponse getUnreadCount(String userEmail) {
+        User user = getUserByEmail(userEmail);
+        return new UnreadCountResponse(unreadCountStore.get(user.getId()));
+    }
+
+    @Transactional
+    public UnreadCountResponse markAsRead(MarkReadRequest request, String userEmail) {
+        log.info("Marking notifications as read for user: {}", userEmail);
+
+        User user = getUserByEmail(userEmail);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (Boolean.TRUE.equals(request.getAll())) {
+            notificationRepository.markAllRead(user.getId(), now);
+        } else if (request.getIds() != null && !request.getIds().isEmpty()) {
+            notificationRepository.markRead(user.getId(), request.getIds(), now);
+        }
+        unreadCountStore.invalidate(user.getId());
+
+        // The cached count is only dropped after commit; count this transaction's view directly
+        return new UnreadCountResponse(notificationRepository.countByRecipientIdAndReadAtIsNull(user.getId()));
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+
+    private NotificationResponse mapToNotificationResponse(Notification notification) {
+        User actor = notification.getLastActor();
+
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .postId(notification.getPostId())
+                .commentId(notification.getCommentId())
+                .lastActor(mapToUserResponse(actor))
+                .actorCount(notification.getActorCount())
+                .message(buildMessage(notification, actor))
+                .isRead(notification.getReadAt() != null)
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+
+    private String buildMessage(Notification notification, User actor) {
+        String who = actor.getFirstName();
+        int others = notification.getActorCount() - 1;
+        if (others == 1) {
+            who += " and 1 other";
+        } else if (others > 1) {
+            who += " and " + others + " others";
+        }
+
+        return switch (notification.getType()) {
+            case POST_LIKED -> who + " liked your post";
+            case POST_COMMENTED -> who + " commented on your post";
+            case COMMENT_REPLIED -> who + " replied to your comment";
+            case COMMENT_LIKED -> who + " liked your comment";
+            case MENTIONED_IN_POST -> who + " mentioned you in a post";
+            case MENTIONED_IN_COMMENT -> who + " mentioned you in a comment";
+        };
+    }
+
+    private UserResponse mapToUserResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.social_media_application.notification.service;
+
+import com.example.social_media_application.notification.model.NotificationType;
+
+/**
+ * Grouping key for coalescing: every event with the same key inside one dispatcher
+ * batch collapses into a single row, which also absorbs the recipient's unread row for
+ * the key from within the merge window ("Alice and 312 others liked your post").
+ */
+record PendingNotification(Long recipientId, NotificationType type, Long postId, Long commentId) {
+}
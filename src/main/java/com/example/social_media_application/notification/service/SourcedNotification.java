@@ -0,0 +1,5 @@
+package com.example.social_media_application.notification.service;
+
+/** One actor's contribution to a notification, and the outbox event it came from. */
+record SourcedNotification(Long eventId, PendingNotification key, Long actorId) {
+}
@@ -0,0 +1,60 @@
+package com.example.social_media_application.notification.service;
+
+import com.example.social_media_application.common.cache.InvalidationBus;
+import com.example.social_media_application.config.NotificationConfig;
+import com.example.social_media_application.notification.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node cache of unread counts. A user's count is loaded from the database on first
+ * read with a COUNT over the partial unread index, and dropped on every node through the
+ * {@link InvalidationBus} once a transaction that adds or reads notifications for the
+ * user commits. The next read loads it again, so no node serves a badge older than the
+ * latest committed change it has been told about.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadCountStore {
+
+    static final String REGION = "notification-unread";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationConfig notificationConfig;
+    private final InvalidationBus invalidationBus;
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(REGION, key -> counts.remove(Long.valueOf(key)), counts::clear);
+    }
+
+    public long get(Long userId) {
+        Long count = counts.get(userId);
+        if (count == null) {
+            evictIfFull();
+            // A load racing an eviction finishes first: remove waits for computeIfAbsent on the same key
+            count = counts.computeIfAbsent(userId, notificationRepository::countByRecipientIdAndReadAtIsNull);
+        }
+        return count;
+    }
+
+    /** Call inside the transaction that changes the user's unread notifications. */
+    public void invalidate(Long userId) {
+        invalidationBus.invalidate(REGION, userId);
+    }
+
+    private void evictIfFull() {
+        int overflow = counts.size() - notificationConfig.getMaxTrackedUsers() + 1;
+        Iterator<Long> iterator = counts.keySet().iterator();
+        while (overflow-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
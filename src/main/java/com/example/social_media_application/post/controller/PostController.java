@@ -1,9 +1,23 @@
 package com.example.social_media_application.post.controller;
 
 import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.common.web.BinaryFormats;
+import com.example.social_media_application.common.web.ConditionalRequests;
+import com.example.social_media_application.post.dto.LikedStateResponse;
+import com.example.social_media_application.post.dto.PostIdsRequest;
 import com.example.social_media_application.post.dto.PostRequest;
 import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.dto.PostSearchResponse;
+import com.example.social_media_application.post.dto.PostStatsResponse;
+import com.example.social_media_application.post.dto.ReactionRequest;
+import com.example.social_media_application.post.dto.ReactionResponse;
+import com.example.social_media_application.post.repository.PostViewState;
 import com.example.social_media_application.post.service.PostService;
+import com.example.social_media_application.post.service.PostSnapshotCache;
+import com.example.social_media_application.post.service.PostViewCounter;
+import com.example.social_media_application.post.service.ReactionService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
@@ -11,7 +25,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,6 +36,10 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final ConditionalRequests conditionalRequests;
+    private final PostSnapshotCache postSnapshotCache;
+    private final PostViewCounter postViewCounter;
+    private final ReactionService reactionService;
 
     @PostMapping
     public ResponseEntity<PostResponse> createPost(@RequestBody PostRequest request, @AuthenticationPrincipal UserDetails userDetails) {
@@ -30,14 +50,60 @@ public class PostController {
     @GetMapping
     public ResponseEntity<Page<PostResponse>> getAllPosts(@RequestParam(defaultValue = "0") int page,
                                                           @RequestParam(defaultValue = "10") int size,
-                                                          @AuthenticationPrincipal UserDetails userDetails) {
+                                                          @AuthenticationPrincipal UserDetails userDetails,
+                                                          WebRequest webRequest) {
+        String etag = postService.getFeedEtag(userDetails.getUsername(), page, size);
+        if (conditionalRequests.checkNotModified(webRequest, "posts.feed", etag)) {
+            return null;
+        }
         Page<PostResponse> responses = postService.getAllPosts(userDetails.getUsername(), page, size);
         return ResponseEntity.ok(responses);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostResponse>> getPostsByIds(@Valid @RequestBody PostIdsRequest request,
+                                                            @AuthenticationPrincipal UserDetails userDetails) {
+        List<PostResponse> responses = postService.getPostsByIds(request.getPostIds(), userDetails.getUsername());
+        return ResponseEntity.ok(responses);
+    }
+
+    @PostMapping("/liked-state")
+    public ResponseEntity<LikedStateResponse> getLikedState(@Valid @RequestBody PostIdsRequest request,
+                                                            @AuthenticationPrincipal UserDetails userDetails) {
+        LikedStateResponse response = postService.getLikedState(request.getPostIds(), userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchResponse> searchPosts(@RequestParam("q") String query,
+                                                          @RequestParam(required = false) Float cursorRank,
+                                                          @RequestParam(required = false) Long cursorId,
+                                                          @RequestParam(defaultValue = "10") int size,
+                                                          @AuthenticationPrincipal UserDetails userDetails) {
+        PostSearchResponse response = postService.searchPosts(query, cursorRank, cursorId, size, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        PostResponse response = postService.getPostById(id, userDetails.getUsername());
+    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails,
+                                                    WebRequest webRequest, HttpServletResponse servletResponse) throws IOException {
+        PostViewState state = postService.getPostViewState(id, userDetails.getUsername());
+        if (state != null) {
+            postViewCounter.record(id, state.viewerId());
+        }
+        if (conditionalRequests.checkNotModified(webRequest, "posts.get", postService.getPostEtag(id, state))) {
+            return null;
+        }
+        // snapshots are JSON; binary formats take the regular path
+        if (state != null && BinaryFormats.requested(webRequest) == null && postSnapshotCache.writeTo(id, state, servletResponse)) {
+            return null;
+        }
+        if (state == null) {
+            // Missing or hidden: the regular read reports which
+            return ResponseEntity.ok(postService.getPostById(id, userDetails.getUsername()));
+        }
+        PostResponse response = postService.getPostById(id, state);
+        postSnapshotCache.offer(id, state.seq(), response);
         return ResponseEntity.ok(response);
     }
 
@@ -53,12 +119,31 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/reaction")
+    public ResponseEntity<ReactionResponse> react(@PathVariable Long id, @Valid @RequestBody ReactionRequest request,
+                                                  @AuthenticationPrincipal UserDetails userDetails) {
+        ReactionResponse response = reactionService.react(id, request.getType(), userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}/reaction")
+    public ResponseEntity<ReactionResponse> removeReaction(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        ReactionResponse response = reactionService.removeReaction(id, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}/likes")
     public ResponseEntity<List<UserResponse>> getPostLikes(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
         List<UserResponse> responses = postService.getPostLikes(id, userDetails.getUsername());
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<PostStatsResponse> getPostStats(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        PostStatsResponse response = postService.getPostStats(id, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/my-posts")
     public ResponseEntity<Page<PostResponse>> getMyPosts(@RequestParam(defaultValue = "0") int page,
                                                          @RequestParam(defaultValue = "10") int size,
@@ -0,0 +1,20 @@
+package com.example.social_media_application.post.dto;
+
+import com.example.social_media_application.post.model.ReactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikedStateResponse {
+    // Post id -> whether the current user likes it; ids the user may not view are left out
+    private Map<Long, Boolean> liked;
+    // Post id -> the current user's reaction, only for posts they reacted to
+    private Map<Long, ReactionType> reactions;
+}
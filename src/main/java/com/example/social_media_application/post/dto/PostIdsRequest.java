@@ -0,0 +1,15 @@
+package com.example.social_media_application.post.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PostIdsRequest {
+
+    @NotEmpty(message = "Post ids are required")
+    @Size(max = 100, message = "At most 100 posts can be requested at once")
+    private List<Long> postIds;
+}
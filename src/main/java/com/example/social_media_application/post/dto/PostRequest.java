@@ -1,8 +1,11 @@
 package com.example.social_media_application.post.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 public class PostRequest {
 
@@ -11,5 +14,12 @@ public class PostRequest {
 
     private String imageUrl;
 
+    // Hash returned by POST /media; takes precedence over imageUrl
+    @Pattern(regexp = "[0-9a-f]{64}", message = "Invalid media hash")
+    private String mediaHash;
+
     private Boolean isPublic = true;
+
+    // Publish later; the post stays private to its author until then
+    private LocalDateTime publishAt;
 }
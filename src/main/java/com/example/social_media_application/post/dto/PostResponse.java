@@ -1,6 +1,7 @@
 package com.example.social_media_application.post.dto;
 
 import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.post.model.ReactionType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,9 +9,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostResponse {
@@ -20,9 +22,13 @@ public class PostResponse {
     private String imageUrl;
     private Boolean isPublic;
     private Integer likeCount;
+    // Every reaction type with its count, including zeros
+    private Map<ReactionType, Integer> reactions;
     private Integer commentCount;
     private Boolean isLikedByCurrentUser;
     private List<UserResponse> likedBy;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Set while the post waits for scheduled publication
+    private LocalDateTime publishAt;
 }
@@ -0,0 +1,19 @@
+package com.example.social_media_application.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchResponse {
+    private List<PostResponse> content;
+    // Pass both back as cursorRank/cursorId to fetch the next page; null when there are no more results
+    private Float nextCursorRank;
+    private Long nextCursorId;
+}
@@ -0,0 +1,21 @@
+package com.example.social_media_application.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatsResponse {
+    private Long postId;
+    private Long viewCount;
+    private Long uniqueViewers;
+    private Integer likeCount;
+    private Integer commentCount;
+    private LocalDateTime flushedAt;
+}
@@ -0,0 +1,12 @@
+package com.example.social_media_application.post.dto;
+
+import com.example.social_media_application.post.model.ReactionType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReactionRequest {
+
+    @NotNull(message = "Reaction type is required")
+    private ReactionType type;
+}
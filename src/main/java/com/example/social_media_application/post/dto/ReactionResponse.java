@@ -0,0 +1,20 @@
+package com.example.social_media_application.post.dto;
+
+import com.example.social_media_application.post.model.ReactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactionResponse {
+    private Long postId;
+    // The current user's reaction, null when they have none
+    private ReactionType reaction;
+    private Map<ReactionType, Integer> reactions;
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
@@ -28,6 +30,8 @@ public class Post {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -50,19 +54,28 @@ public class Post {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
-    @Builder.Default
-    private Set<PostLike> likes = new HashSet<>();
+    // Per-type reaction totals (PackedCounters); only ever changed by atomic SQL updates
+    @Column(name = "reaction_counts", insertable = false, updatable = false)
+    private long reactionCounts;
+
+    // LIKE reactions, counted exactly outside the packed lanes; changed like reactionCounts
+    @Column(name = "like_count", insertable = false, updatable = false)
+    private int likeCount;
+
+    // Pending scheduled publication: the post stays private until ScheduledPostPublisher
+    // applies publishPublic and clears both
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
 
+    @Column(name = "publish_public")
+    private Boolean publishPublic;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Comment> comments = new HashSet<>();
 
-    @Transient
-    public int getLikeCount() {
-        return likes.size();
-    }
-
     @Transient
     public int getCommentCount() {
         return comments.size();
@@ -0,0 +1,46 @@
+package com.example.social_media_application.post.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A user's reaction to a post, likes included. Rows are written only by ReactionService
+ * with plain SQL, together with the post's totals; the entity exists for queries.
+ */
+@Entity
+@Immutable
+@Table(name = "post_reactions")
+@IdClass(PostReaction.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostReaction {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private short reaction;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long postId;
+        private Long userId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.social_media_application.post.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flushed view statistics of a post. Rows are written only by PostViewCounter with
+ * batched upserts; the viewer sketch is a serialised HyperLogLog of viewer ids.
+ */
+@Entity
+@Table(name = "post_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStats {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    @Column(name = "unique_viewers", nullable = false)
+    private Long uniqueViewers;
+
+    @Column(name = "viewer_sketch")
+    private byte[] viewerSketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
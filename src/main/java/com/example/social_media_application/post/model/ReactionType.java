@@ -0,0 +1,52 @@
+package com.example.social_media_application.post.model;
+
+import com.example.social_media_application.common.util.PackedCounters;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reactions to a post, the like among them. The code is what post_reactions stores and
+ * must never be reused or reordered. Codes below PackedCounters.LANES are also the type's
+ * lane in posts.reaction_counts; the like is counted exactly in posts.like_count, as it
+ * is the reaction that outgrows a lane.
+ */
+public enum ReactionType {
+    LIKE(3),
+    LOVE(0),
+    LAUGH(1),
+    WOW(2);
+
+    private final int code;
+
+    ReactionType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /** Whether the type is counted in a posts.reaction_counts lane rather than in like_count. */
+    public boolean hasLane() {
+        return code < PackedCounters.LANES;
+    }
+
+    /** Count of every type from a post's reaction_counts and like_count, in declaration order. */
+    public static Map<ReactionType, Integer> counts(long packed, int likeCount) {
+        Map<ReactionType, Integer> counts = new EnumMap<>(ReactionType.class);
+        for (ReactionType type : values()) {
+            counts.put(type, type.hasLane() ? PackedCounters.get(packed, type.code) : likeCount);
+        }
+        return counts;
+    }
+
+    public static ReactionType fromCode(int code) {
+        for (ReactionType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown reaction code: " + code);
+    }
+}
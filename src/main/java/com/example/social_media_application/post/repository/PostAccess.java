@@ -0,0 +1,5 @@
+package com.example.social_media_application.post.repository;
+
+/** What a visibility check needs to know about a post. */
+public record PostAccess(Long ownerId, Boolean isPublic) {
+}
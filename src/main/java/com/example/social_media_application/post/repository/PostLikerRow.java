@@ -0,0 +1,12 @@
+package com.example.social_media_application.post.repository;
+
+import java.time.LocalDateTime;
+
+/** A like on a post, as the liking user's public columns. */
+public record PostLikerRow(Long postId,
+                           Long userId,
+                           String firstName,
+                           String lastName,
+                           String email,
+                           LocalDateTime createdAt) {
+}
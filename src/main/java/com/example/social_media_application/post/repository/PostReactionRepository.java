@@ -0,0 +1,38 @@
+package com.example.social_media_application.post.repository;
+
+import com.example.social_media_application.post.model.PostReaction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostReactionRepository extends JpaRepository<PostReaction, PostReaction.Key> {
+
+    // Users with the given reaction on several posts as projections, oldest reaction first
+    @Query("SELECT new com.example.social_media_application.post.repository.PostLikerRow(" +
+            "r.postId, u.id, u.firstName, u.lastName, u.email, u.createdAt) " +
+            "FROM PostReaction r JOIN User u ON u.id = r.userId " +
+            "WHERE r.postId IN :postIds AND r.reaction = :reaction ORDER BY r.createdAt, r.userId")
+    List<PostLikerRow> findReactorRowsByPostIdIn(@Param("postIds") Collection<Long> postIds,
+                                                 @Param("reaction") short reaction);
+
+    // Ids of the users with the given reaction on the post, oldest reaction first
+    @Query("SELECT r.userId FROM PostReaction r WHERE r.postId = :postId AND r.reaction = :reaction " +
+            "ORDER BY r.createdAt, r.userId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId, @Param("reaction") short reaction);
+
+    // Which of the given posts the user has reacted to with the given reaction
+    @Query("SELECT r.postId FROM PostReaction r " +
+            "WHERE r.userId = :userId AND r.reaction = :reaction AND r.postId IN :postIds")
+    List<Long> findPostIds(@Param("userId") Long userId, @Param("reaction") short reaction,
+                           @Param("postIds") Collection<Long> postIds);
+
+    // Every post the user has reacted to with the given reaction, up to limit, for the viewer likes cache
+    @Query("SELECT r.postId FROM PostReaction r WHERE r.userId = :userId AND r.reaction = :reaction")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId, @Param("reaction") short reaction, Limit limit);
+}
@@ -2,13 +2,20 @@ package com.example.social_media_application.post.repository;
 
 import com.example.social_media_application.auth.model.User;
 import com.example.social_media_application.post.model.Post;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
@@ -16,9 +23,89 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p WHERE p.isPublic = true OR p.user.id = :userId ORDER BY p.createdAt DESC")
     Page<Post> findAllVisiblePosts(@Param("userId") Long userId, Pageable pageable);
 
+    // Feed page as projections: posts with author columns, no entities loaded
+    @Query(value = "SELECT new com.example.social_media_application.post.repository.PostRow(" +
+            "p.id, u.id, u.firstName, u.lastName, u.email, u.createdAt, p.content, p.imageUrl, p.isPublic, p.createdAt, p.updatedAt, p.reactionCounts, p.publishAt) " +
+            "FROM Post p JOIN p.user u WHERE p.isPublic = true OR u.id = :userId ORDER BY p.createdAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.isPublic = true OR p.user.id = :userId")
+    Page<PostRow> findVisiblePostRows(@Param("userId") Long userId, Pageable pageable);
+
+    // A user's posts as projections, newest first
+    @Query(value = "SELECT new com.example.social_media_application.post.repository.PostRow(" +
+            "p.id, u.id, u.firstName, u.lastName, u.email, u.createdAt, p.content, p.imageUrl, p.isPublic, p.createdAt, p.updatedAt, p.reactionCounts, p.publishAt) " +
+            "FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostRow> findPostRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Locks the row for a read-modify-write that must not race ScheduledPostPublisher
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") Long id);
+
+    // Owner and visibility of a post, for permission checks that don't need the entity
+    @Query("SELECT new com.example.social_media_application.post.repository.PostAccess(p.user.id, p.isPublic) " +
+            "FROM Post p WHERE p.id = :id")
+    Optional<PostAccess> findAccessById(@Param("id") Long id);
+
     // Get posts by user
     Page<Post> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
     // Get public posts only
     Page<Post> findByIsPublicTrueOrderByCreatedAtDesc(Pageable pageable);
+
+    // Load posts with their authors in one query
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Posts with author columns as projections, in no particular order
+    @Query("SELECT new com.example.social_media_application.post.repository.PostRow(" +
+            "p.id, u.id, u.firstName, u.lastName, u.email, u.createdAt, p.content, p.imageUrl, p.isPublic, p.createdAt, p.updatedAt, p.reactionCounts, p.publishAt) " +
+            "FROM Post p JOIN p.user u WHERE p.id IN :ids")
+    List<PostRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The posts among the given ones that the user is allowed to see, as projections
+    @Query("SELECT new com.example.social_media_application.post.repository.PostRow(" +
+            "p.id, u.id, u.firstName, u.lastName, u.email, u.createdAt, p.content, p.imageUrl, p.isPublic, p.createdAt, p.updatedAt, p.reactionCounts, p.publishAt) " +
+            "FROM Post p JOIN p.user u WHERE p.id IN :ids AND (p.isPublic = true OR u.id = :userId)")
+    List<PostRow> findVisibleRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Ids among the given ones that the user is allowed to see
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids AND (p.isPublic = true OR p.user.id = :userId)")
+    List<Long> findVisibleIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Ranked full-text search, first page
+    @Query(value = "SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank " +
+            "FROM posts p, websearch_to_tsquery('english', :query) q " +
+            "WHERE p.search_vector @@ q AND (p.is_public = true OR p.user_id = :userId) " +
+            "ORDER BY rank DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<PostSearchHit> search(@Param("query") String query, @Param("userId") Long userId, @Param("limit") int limit);
+
+    // Ranked full-text search, page after the (rank, id) cursor
+    @Query(value = "SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank " +
+            "FROM posts p, websearch_to_tsquery('english', :query) q " +
+            "WHERE p.search_vector @@ q AND (p.is_public = true OR p.user_id = :userId) " +
+            "AND (ts_rank(p.search_vector, q) < CAST(:cursorRank AS real) " +
+            "OR (ts_rank(p.search_vector, q) = CAST(:cursorRank AS real) AND p.id < :cursorId)) " +
+            "ORDER BY rank DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<PostSearchHit> searchAfter(@Param("query") String query, @Param("userId") Long userId,
+                                    @Param("cursorRank") float cursorRank, @Param("cursorId") Long cursorId,
+                                    @Param("limit") int limit);
+
+    // Version, owner and visibility of a post, the viewer-independent half of its view state
+    @Query(value = "SELECT p.change_seq AS seq, p.user_id AS \"ownerId\", p.is_public AS \"isPublic\" " +
+            "FROM posts p WHERE p.id = :postId", nativeQuery = true)
+    Optional<PostVersion> findVersionById(@Param("postId") Long postId);
+
+    // Version of a feed page: its post ids and versions, plus the latest delete anywhere (which shifts pages)
+    @Query(value = "SELECT md5(coalesce(string_agg(v.id || ':' || v.change_seq, ',' ORDER BY v.created_at DESC, v.id), '') " +
+            "|| '|' || (SELECT coalesce(max(t.change_seq), 0) FROM sync_tombstones t)) || '-' || u.id " +
+            "FROM users u LEFT JOIN LATERAL (SELECT p.id, p.change_seq, p.created_at FROM posts p " +
+            "WHERE p.is_public = true OR p.user_id = u.id ORDER BY p.created_at DESC, p.id DESC LIMIT :limit OFFSET :offset) v ON true " +
+            "WHERE u.email = :email GROUP BY u.id", nativeQuery = true)
+    Optional<String> findFeedVersion(@Param("email") String email, @Param("limit") int limit, @Param("offset") long offset);
+
+    // Renumbers an author's posts, so versions built from change_seq pick up a new author name
+    @Modifying
+    @Query(value = "UPDATE posts SET change_seq = nextval('change_seq') WHERE user_id = :userId", nativeQuery = true)
+    int renumberByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,22 @@
+package com.example.social_media_application.post.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The post and author columns a PostResponse needs, selected with a JPQL constructor
+ * expression. Rows are plain values: nothing is attached to the persistence context.
+ */
+public record PostRow(Long id,
+                      Long userId,
+                      String userFirstName,
+                      String userLastName,
+                      String userEmail,
+                      LocalDateTime userCreatedAt,
+                      String content,
+                      String imageUrl,
+                      Boolean isPublic,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt,
+                      Long reactionCounts,
+                      LocalDateTime publishAt) {
+}
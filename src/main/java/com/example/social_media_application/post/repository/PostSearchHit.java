@@ -0,0 +1,6 @@
+package com.example.social_media_application.post.repository;
+
+public interface PostSearchHit {
+    Long getId();
+    Float getRank();
+}
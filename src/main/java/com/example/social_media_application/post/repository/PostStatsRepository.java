@@ -0,0 +1,9 @@
+package com.example.social_media_application.post.repository;
+
+import com.example.social_media_application.post.model.PostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostStatsRepository extends JpaRepository<PostStats, Long> {
+}
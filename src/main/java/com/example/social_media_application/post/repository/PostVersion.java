@@ -0,0 +1,7 @@
+package com.example.social_media_application.post.repository;
+
+public interface PostVersion {
+    Long getSeq();
+    Long getOwnerId();
+    Boolean getIsPublic();
+}
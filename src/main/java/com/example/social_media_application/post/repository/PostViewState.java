@@ -0,0 +1,5 @@
+package com.example.social_media_application.post.repository;
+
+/** Version of a post and what a conditional or snapshot read needs to know about its viewer. */
+public record PostViewState(Long seq, Long viewerId, Boolean liked) {
+}
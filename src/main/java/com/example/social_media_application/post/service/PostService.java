@@ -3,24 +3,56 @@ package com.example.social_media_application.post.service;
 import com.example.social_media_application.auth.dto.UserResponse;
 import com.example.social_media_application.auth.model.User;
 import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.auth.service.UserSummaryCache;
+import com.example.social_media_application.comment.repository.CommentRepository;
+import com.example.social_media_application.common.concurrent.SingleFlight;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventPublisher;
 import com.example.social_media_application.exception.ResourceNotFoundException;
 import com.example.social_media_application.exception.UnauthorizedException;
+import com.example.social_media_application.hashtag.service.HashtagIndexer;
+import com.example.social_media_application.media.service.MediaService;
+import com.example.social_media_application.post.dto.LikedStateResponse;
 import com.example.social_media_application.post.dto.PostRequest;
 import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.dto.PostSearchResponse;
+import com.example.social_media_application.post.dto.PostStatsResponse;
 import com.example.social_media_application.post.model.Post;
-import com.example.social_media_application.post.model.PostLike;
-import com.example.social_media_application.post.repository.PostLikeRepository;
+import com.example.social_media_application.post.model.PostStats;
+import com.example.social_media_application.post.model.ReactionType;
+import com.example.social_media_application.post.repository.PostAccess;
+import com.example.social_media_application.post.repository.PostLikerRow;
+import com.example.social_media_application.post.repository.PostReactionRepository;
 import com.example.social_media_application.post.repository.PostRepository;
+import com.example.social_media_application.post.repository.PostRow;
+import com.example.social_media_application.post.repository.PostStatsRepository;
+import com.example.social_media_application.post.repository.PostSearchHit;
+import com.example.social_media_application.post.repository.PostVersion;
+import com.example.social_media_application.post.repository.PostViewState;
+import com.example.social_media_application.user.service.MentionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,53 +60,184 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final short LIKE = (short) ReactionType.LIKE.getCode();
+
     private final PostRepository postRepository;
-    private final PostLikeRepository postLikeRepository;
+    private final PostReactionRepository postReactionRepository;
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final HashtagIndexer hashtagIndexer;
+    private final MentionService mentionService;
+    private final MediaService mediaService;
+    private final UserSummaryCache userSummaryCache;
+    private final ViewerLikesCache viewerLikesCache;
+    private final PostStatsRepository postStatsRepository;
+    private final PostViewCounter postViewCounter;
+    private final ReactionService reactionService;
+    private final ScheduledPostPublisher scheduledPostPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate readOnlyTransaction;
+    private SingleFlight<PostRead, PostResponse> postReads;
+    private SingleFlight<Long, PostVersion> postVersions;
+    private SingleFlight<String, Long> viewerIds;
+
+    /** A read of a post at the change_seq its reader saw; null when the reader has none. */
+    private record PostRead(Long postId, Long seq) {
+    }
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        postReads = new SingleFlight<>("posts.get", meterRegistry);
+        postVersions = new SingleFlight<>("posts.version", meterRegistry);
+        viewerIds = new SingleFlight<>("users.id-by-email", meterRegistry);
+    }
 
     @Transactional
     public PostResponse createPost(PostRequest request, String userEmail) {
         log.info("Creating new post for user: {}", userEmail);
 
         User user = getUserByEmail(userEmail);
+        boolean isPublic = request.getIsPublic() != null ? request.getIsPublic() : true;
+        LocalDateTime publishAt = scheduledPublishAt(request.getPublishAt());
 
         Post post = Post.builder()
                 .user(user)
                 .content(request.getContent())
-                .imageUrl(request.getImageUrl())
-                .isPublic(request.getIsPublic() != null ? request.getIsPublic() : true)
+                .imageUrl(resolveImageUrl(request))
+                .isPublic(publishAt == null && isPublic)
+                .publishAt(publishAt)
+                .publishPublic(publishAt != null ? isPublic : null)
                 .build();
 
         post = postRepository.save(post);
         log.info("Post created with ID: {}", post.getId());
 
-        return mapToPostResponse(post, user);
+        hashtagIndexer.indexPost(post.getId(), post.getContent(), post.getIsPublic(), true);
+        if (publishAt != null) {
+            // Mentions, trending and POST_CREATED fan-out happen when the post is published
+            scheduledPostPublisher.schedule(post.getId(), publishAt);
+            log.info("Post {} scheduled for {}", post.getId(), publishAt);
+            return mapToPostResponse(post, false);
+        }
+        mentionService.publishMentions(post.getId(), null, post.getIsPublic(), null, post.getContent(), user.getId());
+
+        publishPostEvent(DomainEventType.POST_CREATED, post, user);
+
+        return mapToPostResponse(post, false);
     }
 
     @Transactional(readOnly = true)
     public Page<PostResponse> getAllPosts(String userEmail, int page, int size) {
         log.info("Fetching posts for user: {}, page: {}, size: {}", userEmail, page, size);
 
-        User currentUser = getUserByEmail(userEmail);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Long currentUserId = getUserIdByEmail(userEmail);
+        Page<PostRow> rows = postRepository.findVisiblePostRows(currentUserId, PageRequest.of(page, size));
 
-        Page<Post> posts = postRepository.findAllVisiblePosts(currentUser.getId(), pageable);
-
-        return posts.map(post -> mapToPostResponse(post, currentUser));
+        return mapToPostResponses(rows, currentUserId);
     }
 
-    @Transactional(readOnly = true)
     public PostResponse getPostById(Long postId, String userEmail) {
         log.info("Fetching post with ID: {} for user: {}", postId, userEmail);
 
-        User currentUser = getUserByEmail(userEmail);
-        Post post = getPostOrThrow(postId);
+        Long currentUserId = getUserByEmail(userEmail).getId();
+        return readPost(new PostRead(postId, null), currentUserId, viewerLikesCache.isPostLiked(currentUserId, postId));
+    }
+
+    /**
+     * {@link #getPostById(Long, String)} for a viewer whose {@link #getPostViewState} is already
+     * loaded. The post is never older than {@code state.seq()}, so it may be sent and cached
+     * under that version.
+     */
+    public PostResponse getPostById(Long postId, PostViewState state) {
+        log.info("Fetching post with ID: {} for user ID: {}", postId, state.viewerId());
+        return readPost(new PostRead(postId, state.seq()), state.viewerId(), state.liked());
+    }
 
-        if (!post.getIsPublic() && !post.getUser().getId().equals(currentUser.getId())) {
+    /**
+     * Concurrent reads of the same post share one load of its viewer-independent part.
+     * Only readers that saw the same change_seq share a load: every load starts after its
+     * readers read their version, whereas one started before a write would hand its
+     * pre-write post to a reader holding the post-write version and ETag. Runs without a
+     * surrounding transaction so waiting readers hold no connection; only the loading
+     * reader opens one.
+     */
+    private PostResponse readPost(PostRead read, Long currentUserId, boolean liked) {
+        Long postId = read.postId();
+        PostResponse shared = postReads.execute(read, () -> readOnlyTransaction.execute(status ->
+                mapToPostResponse(getPostOrThrow(postId), false)));
+
+        if (!shared.getIsPublic() && !shared.getUser().getId().equals(currentUserId)) {
             throw new UnauthorizedException("You don't have permission to view this post");
         }
 
-        return mapToPostResponse(post, currentUser);
+        return shared.toBuilder()
+                .isLikedByCurrentUser(liked)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public PostSearchResponse searchPosts(String query, Float cursorRank, Long cursorId, int size, String userEmail) {
+        log.info("Searching posts for user: {}, query: {}", userEmail, query);
+
+        User currentUser = getUserByEmail(userEmail);
+        String normalized = query == null ? "" : query.strip();
+        if (normalized.isEmpty()) {
+            return PostSearchResponse.builder().content(List.of()).build();
+        }
+        if (normalized.length() > MAX_SEARCH_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_SEARCH_QUERY_LENGTH);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+
+        List<PostSearchHit> hits = cursorRank == null || cursorId == null
+                ? postRepository.search(normalized, currentUser.getId(), pageSize)
+                : postRepository.searchAfter(normalized, currentUser.getId(), cursorRank, cursorId, pageSize);
+
+        List<PostResponse> content = getPostsInOrder(hits.stream().map(PostSearchHit::getId).toList(), currentUser);
+
+        PostSearchHit last = hits.size() == pageSize ? hits.get(hits.size() - 1) : null;
+
+        return PostSearchResponse.builder()
+                .content(content)
+                .nextCursorRank(last != null ? last.getRank() : null)
+                .nextCursorId(last != null ? last.getId() : null)
+                .build();
+    }
+
+    /**
+     * Version of a post and the viewer's liked flag, without loading the post;
+     * null if the post is missing or not visible. Concurrent calls share one version
+     * query per post and one id lookup per viewer, outside any transaction like
+     * {@link #getPostById}; the liked flag comes from {@link ViewerLikesCache}.
+     */
+    public PostViewState getPostViewState(Long postId, String userEmail) {
+        Long viewerId = viewerIds.execute(userEmail, () -> userRepository.findIdByEmail(userEmail).orElse(null));
+        PostVersion version = postVersions.execute(postId, () -> postRepository.findVersionById(postId).orElse(null));
+        if (viewerId == null || version == null
+                || !(Boolean.TRUE.equals(version.getIsPublic()) || version.getOwnerId().equals(viewerId))) {
+            return null;
+        }
+        return new PostViewState(version.getSeq(), viewerId, viewerLikesCache.isPostLiked(viewerId, postId));
+    }
+
+    /** Strong ETag of {@link #getPostById} for the viewer in {@code state}. */
+    public String getPostEtag(Long postId, PostViewState state) {
+        return state == null ? null : "post-" + postId + "-" + state.seq() + "-" + state.viewerId();
+    }
+
+    /** Strong ETag of a {@link #getAllPosts} page for this viewer. */
+    @Transactional(readOnly = true)
+    public String getFeedEtag(String userEmail, int page, int size) {
+        return postRepository.findFeedVersion(userEmail, size, (long) page * size)
+                .map(version -> "feed-" + page + "-" + size + "-" + version)
+                .orElse(null);
     }
 
     @Transactional
@@ -82,23 +245,44 @@ public class PostService {
         log.info("Updating post with ID: {} for user: {}", postId, userEmail);
 
         User currentUser = getUserByEmail(userEmail);
-        Post post = getPostOrThrow(postId);
+        Post post = postRepository.findByIdForUpdate(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
 
         if (!post.getUser().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You don't have permission to update this post");
         }
 
+        // Mentions in a post that was private have not been notified yet
+        String previousContent = post.getIsPublic() ? post.getContent() : null;
         post.setContent(request.getContent());
-        if (request.getImageUrl() != null) {
-            post.setImageUrl(request.getImageUrl());
+        String imageUrl = resolveImageUrl(request);
+        if (imageUrl != null) {
+            post.setImageUrl(imageUrl);
         }
+        // A pending post keeps its visibility for publication and can be rescheduled
+        boolean pending = post.getPublishAt() != null;
         if (request.getIsPublic() != null) {
-            post.setIsPublic(request.getIsPublic());
+            if (pending) {
+                post.setPublishPublic(request.getIsPublic());
+            } else {
+                post.setIsPublic(request.getIsPublic());
+            }
+        }
+        if (pending && request.getPublishAt() != null) {
+            LocalDateTime publishAt = scheduledPublishAt(request.getPublishAt());
+            post.setPublishAt(publishAt != null ? publishAt : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            scheduledPostPublisher.schedule(post.getId(), post.getPublishAt());
         }
 
         post = postRepository.save(post);
         log.info("Post updated successfully: {}", postId);
 
+        hashtagIndexer.indexPost(post.getId(), post.getContent(), post.getIsPublic(), false);
+        mentionService.publishMentions(post.getId(), null, post.getIsPublic(), previousContent, post.getContent(),
+                currentUser.getId());
+
+        publishPostEvent(DomainEventType.POST_UPDATED, post, currentUser);
+
         return mapToPostResponse(post, currentUser);
     }
 
@@ -113,67 +297,120 @@ public class PostService {
             throw new UnauthorizedException("You don't have permission to delete this post");
         }
 
+        publishPostEvent(DomainEventType.POST_DELETED, post, currentUser);
+
         postRepository.delete(post);
         log.info("Post deleted successfully: {}", postId);
     }
 
     @Transactional
     public PostResponse toggleLike(Long postId, String userEmail) {
-        log.info("Toggling like for post: {} by user: {}", postId, userEmail);
-
-        User currentUser = getUserByEmail(userEmail);
-        Post post = getPostOrThrow(postId);
+        // A like is the LIKE reaction; the cache only sees the change after commit
+        boolean liked = reactionService.toggleLike(postId, userEmail);
+        return mapToPostResponse(getPostOrThrow(postId), liked);
+    }
 
-        if (!post.getIsPublic() && !post.getUser().getId().equals(currentUser.getId())) {
-            throw new UnauthorizedException("You don't have permission to like this post");
-        }
+    @Transactional(readOnly = true)
+    public List<UserResponse> getPostLikes(Long postId, String userEmail) {
+        log.info("Fetching likes for post: {}", postId);
 
-        boolean exists = postLikeRepository.existsByPostAndUser(post, currentUser);
+        Long currentUserId = getUserIdByEmail(userEmail);
+        PostAccess access = postRepository.findAccessById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
 
-        if (exists) {
-            postLikeRepository.deleteByPostAndUser(post, currentUser);
-            log.info("Post unliked: {}", postId);
-        } else {
-            PostLike postLike = PostLike.builder()
-                    .post(post)
-                    .user(currentUser)
-                    .build();
-            postLikeRepository.save(postLike);
-            log.info("Post liked: {}", postId);
+        if (!access.isPublic() && !access.ownerId().equals(currentUserId)) {
+            throw new UnauthorizedException("You don't have permission to view likes for this post");
         }
 
-        post = postRepository.findById(postId).orElseThrow();
-        return mapToPostResponse(post, currentUser);
+        return postReactionRepository.findReactorRowsByPostIdIn(List.of(postId), LIKE).stream()
+                .map(this::mapToUserResponse)
+                .collect(Collectors.toList());
     }
 
+    /** View analytics for the post's author: flushed totals plus this node's unflushed views. */
     @Transactional(readOnly = true)
-    public List<UserResponse> getPostLikes(Long postId, String userEmail) {
-        log.info("Fetching likes for post: {}", postId);
+    public PostStatsResponse getPostStats(Long postId, String userEmail) {
+        log.info("Fetching stats for post: {}", postId);
 
         User currentUser = getUserByEmail(userEmail);
         Post post = getPostOrThrow(postId);
 
-        if (!post.getIsPublic() && !post.getUser().getId().equals(currentUser.getId())) {
-            throw new UnauthorizedException("You don't have permission to view likes for this post");
+        if (!post.getUser().getId().equals(currentUser.getId())) {
+            throw new UnauthorizedException("You don't have permission to view stats for this post");
         }
 
-        List<PostLike> likes = postLikeRepository.findByPost(post);
-
-        return likes.stream()
-                .map(like -> mapToUserResponse(like.getUser()))
-                .collect(Collectors.toList());
+        PostStats stats = postStatsRepository.findById(postId).orElse(null);
+        return PostStatsResponse.builder()
+                .postId(postId)
+                .viewCount((stats != null ? stats.getViewCount() : 0) + postViewCounter.pendingViews(postId))
+                .uniqueViewers(postViewCounter.uniqueViewers(postId, stats != null ? stats.getViewerSketch() : null))
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
+                .flushedAt(stats != null ? stats.getUpdatedAt() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public Page<PostResponse> getUserPosts(String userEmail, int page, int size) {
         log.info("Fetching posts for user: {}", userEmail);
 
-        User user = getUserByEmail(userEmail);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Long userId = getUserIdByEmail(userEmail);
+        Page<PostRow> rows = postRepository.findPostRowsByUserId(userId, PageRequest.of(page, size));
 
-        Page<Post> posts = postRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+        return mapToPostResponses(rows, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostResponse> getPostsByIds(List<Long> postIds, String userEmail) {
+        log.info("Fetching {} posts in bulk for user: {}", postIds.size(), userEmail);
 
-        return posts.map(post -> mapToPostResponse(post, user));
+        User currentUser = getUserByEmail(userEmail);
+        List<Long> ids = distinctIds(postIds);
+
+        List<PostRow> rows = postRepository.findVisibleRowsByIdIn(ids, currentUser.getId());
+        return mapToPostResponses(ids, rows, currentUser.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public LikedStateResponse getLikedState(List<Long> postIds, String userEmail) {
+        log.info("Fetching liked state of {} posts for user: {}", postIds.size(), userEmail);
+
+        User currentUser = getUserByEmail(userEmail);
+        List<Long> ids = distinctIds(postIds);
+
+        Set<Long> visible = new HashSet<>(postRepository.findVisibleIds(ids, currentUser.getId()));
+        Set<Long> liked = viewerLikesCache.likedPostIds(currentUser.getId(), visible);
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (visible.contains(id)) {
+                result.put(id, liked.contains(id));
+            }
+        }
+        return new LikedStateResponse(result, reactionService.getReactions(currentUser.getId(), visible));
+    }
+
+    /**
+     * Loads the given posts with their authors as projections and maps them in the order of
+     * {@code postIds}. Callers are expected to have applied visibility rules already;
+     * ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<PostResponse> getPostsInOrder(List<Long> postIds, User currentUser) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return mapToPostResponses(postIds, postRepository.findRowsByIdIn(postIds), currentUser.getId());
+    }
+
+    private void publishPostEvent(DomainEventType type, Post post, User actor) {
+        domainEventPublisher.publish(DomainEvent.builder()
+                .type(type)
+                .postId(post.getId())
+                .actorId(actor.getId())
+                .recipientId(post.getUser().getId())
+                .publicPost(post.getIsPublic())
+                .build());
     }
 
     private Post getPostOrThrow(Long postId) {
@@ -181,40 +418,133 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
     }
 
+    // Null for immediate publication; whole seconds, so the publisher's tick is never early
+    private static LocalDateTime scheduledPublishAt(LocalDateTime requested) {
+        if (requested == null || !requested.isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        return requested.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private String resolveImageUrl(PostRequest request) {
+        return request.getMediaHash() != null ? mediaService.getMediaUrl(request.getMediaHash()) : request.getImageUrl();
+    }
+
     private User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    private Long getUserIdByEmail(String email) {
+        return userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+
     private PostResponse mapToPostResponse(Post post, User currentUser) {
-        boolean isLikedByCurrentUser = postLikeRepository.existsByPostAndUser(post, currentUser);
+        return mapToPostResponse(post, viewerLikesCache.isPostLiked(currentUser.getId(), post.getId()));
+    }
 
-        List<UserResponse> likedBy = postLikeRepository.findByPost(post).stream()
-                .map(like -> mapToUserResponse(like.getUser()))
-                .collect(Collectors.toList());
+    private PostResponse mapToPostResponse(Post post, boolean isLikedByCurrentUser) {
+        // Only the likers' ids are queried; the summaries come from the cache
+        List<UserResponse> likedBy = userSummaryCache.getAll(postReactionRepository.findUserIdsByPostId(post.getId(), LIKE));
 
         return PostResponse.builder()
                 .id(post.getId())
-                .user(mapToUserResponse(post.getUser()))
+                .user(userSummaryCache.get(post.getUser().getId()))
                 .content(post.getContent())
                 .imageUrl(post.getImageUrl())
                 .isPublic(post.getIsPublic())
                 .likeCount(post.getLikeCount())
+                .reactions(ReactionType.counts(post.getReactionCounts(), post.getLikeCount()))
                 .commentCount(post.getCommentCount())
                 .isLikedByCurrentUser(isLikedByCurrentUser)
                 .likedBy(likedBy)
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
+                .publishAt(post.getPublishAt())
+                .build();
+    }
+
+    // Bulk variant of mapToPostResponse over projections: likers and comment counts for all rows in two IN queries
+    private List<PostResponse> mapToPostResponses(List<Long> order, List<PostRow> rows, Long currentUserId) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostRow> byId = rows.stream()
+                .collect(Collectors.toMap(PostRow::id, Function.identity()));
+        PostListContext context = loadListContext(byId.keySet());
+
+        return order.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(row -> mapToPostResponse(row, context, currentUserId))
+                .collect(Collectors.toList());
+    }
+
+    private Page<PostResponse> mapToPostResponses(Page<PostRow> rows, Long currentUserId) {
+        if (rows.isEmpty()) {
+            return new PageImpl<>(List.of(), rows.getPageable(), rows.getTotalElements());
+        }
+        PostListContext context = loadListContext(rows.stream().map(PostRow::id).collect(Collectors.toSet()));
+        return rows.map(row -> mapToPostResponse(row, context, currentUserId));
+    }
+
+    private record PostListContext(Map<Long, List<PostLikerRow>> likersByPost, Map<Long, Long> commentCounts) {
+    }
+
+    private PostListContext loadListContext(Set<Long> postIds) {
+        Map<Long, List<PostLikerRow>> likersByPost = postReactionRepository.findReactorRowsByPostIdIn(postIds, LIKE).stream()
+                .collect(Collectors.groupingBy(PostLikerRow::postId));
+
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (Object[] row : commentRepository.countByPostIds(postIds)) {
+            commentCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return new PostListContext(likersByPost, commentCounts);
+    }
+
+    private PostResponse mapToPostResponse(PostRow row, PostListContext context, Long currentUserId) {
+        List<PostLikerRow> likers = context.likersByPost().getOrDefault(row.id(), List.of());
+        return PostResponse.builder()
+                .id(row.id())
+                .user(UserResponse.builder()
+                        .id(row.userId())
+                        .firstName(row.userFirstName())
+                        .lastName(row.userLastName())
+                        .email(row.userEmail())
+                        .createdAt(row.userCreatedAt())
+                        .build())
+                .content(row.content())
+                .imageUrl(row.imageUrl())
+                .isPublic(row.isPublic())
+                .likeCount(likers.size())
+                .reactions(ReactionType.counts(row.reactionCounts(), likers.size()))
+                .commentCount(context.commentCounts().getOrDefault(row.id(), 0L).intValue())
+                .isLikedByCurrentUser(likers.stream().anyMatch(liker -> liker.userId().equals(currentUserId)))
+                .likedBy(likers.stream()
+                        .map(this::mapToUserResponse)
+                        .collect(Collectors.toList()))
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .publishAt(row.publishAt())
                 .build();
     }
 
-    private UserResponse mapToUserResponse(User user) {
+    private List<Long> distinctIds(List<Long> postIds) {
+        return postIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private UserResponse mapToUserResponse(PostLikerRow liker) {
         return UserResponse.builder()
-                .id(user.getId())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .email(user.getEmail())
-                .createdAt(user.getCreatedAt())
+                .id(liker.userId())
+                .firstName(liker.firstName())
+                .lastName(liker.lastName())
+                .email(liker.email())
+                .createdAt(liker.createdAt())
                 .build();
     }
+
 }
@@ -0,0 +1,157 @@
+package com.example.social_media_application.post.service;
+
+import com.example.social_media_application.common.sketch.CountMinSketch;
+import com.example.social_media_application.config.PostSnapshotConfig;
+import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.repository.PostViewState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-encoded JSON of frequently read posts, as served by {@code GET /posts/{id}}.
+ *
+ * <p>Each snapshot is the post serialised once with {@code isLikedByCurrentUser} set
+ * to false, plus the offsets of that literal. A read writes the bytes before it, the
+ * viewer's flag and the bytes after it straight to the response, so nothing is mapped,
+ * serialised or copied. Snapshots carry the post's change_seq and are only served when
+ * it matches the version read for the request; edits and likes bump it, so a stale
+ * snapshot is simply never used again.
+ *
+ * <p>Only posts rebuilt {@code admit-after-misses} times within a sweep interval are
+ * admitted, and the periodic sweep drops snapshots that were not read since the last one.
+ */
+@Component
+@Slf4j
+public class PostSnapshotCache {
+
+    private static final byte[] LIKED_FIELD = "\"isLikedByCurrentUser\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
+
+    private static final class Snapshot {
+        private final long version;
+        private final byte[] json;
+        private final int flagStart;
+        private final int flagEnd;
+        private volatile boolean referenced = true;
+
+        private Snapshot(long version, byte[] json, int flagStart, int flagEnd) {
+            this.version = version;
+            this.json = json;
+            this.flagStart = flagStart;
+            this.flagEnd = flagEnd;
+        }
+    }
+
+    private final PostSnapshotConfig config;
+    private final JsonMapper jsonMapper;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final CountMinSketch admission;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PostSnapshotCache(PostSnapshotConfig config, JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jsonMapper = jsonMapper;
+        this.admission = new CountMinSketch(4096, 4);
+        this.hits = meterRegistry.counter("post.snapshots.requests", "result", "hit");
+        this.misses = meterRegistry.counter("post.snapshots.requests", "result", "miss");
+        meterRegistry.gauge("post.snapshots.entries", snapshots, Map::size);
+        meterRegistry.gauge("post.snapshots.bytes", totalBytes);
+    }
+
+    /**
+     * Writes the snapshot of {@code postId} for this viewer if one exists at the current
+     * version; returns false, leaving the response untouched, otherwise.
+     */
+    public boolean writeTo(Long postId, PostViewState state, HttpServletResponse response) throws IOException {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        Snapshot snapshot = snapshots.get(postId);
+        if (snapshot == null || snapshot.version != state.seq()) {
+            misses.increment();
+            admission.increment(postId);
+            return false;
+        }
+        snapshot.referenced = true;
+        hits.increment();
+
+        byte[] flag = Boolean.TRUE.equals(state.liked()) ? TRUE : FALSE;
+        int tail = snapshot.json.length - snapshot.flagEnd;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Written past the message converters, so UserDictionaryAdvice does not add it
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setContentLength(snapshot.flagStart + flag.length + tail);
+        OutputStream out = response.getOutputStream();
+        out.write(snapshot.json, 0, snapshot.flagStart);
+        out.write(flag);
+        out.write(snapshot.json, snapshot.flagEnd, tail);
+        return true;
+    }
+
+    /** Stores {@code response}, built at {@code version}, if the post has become hot enough. */
+    public void offer(Long postId, long version, PostResponse response) {
+        if (!config.isEnabled() || admission.estimate(postId) < config.getAdmitAfterMisses()) {
+            return;
+        }
+        if (snapshots.size() >= config.getMaxEntries() || totalBytes.get() >= config.getMaxBytes()) {
+            return;
+        }
+
+        byte[] json = jsonMapper.writeValueAsBytes(response.toBuilder().isLikedByCurrentUser(false).build());
+        int field = indexOf(json, LIKED_FIELD);
+        if (field < 0) {
+            return;
+        }
+        int flagStart = field + LIKED_FIELD.length;
+        Snapshot previous = snapshots.put(postId, new Snapshot(version, json, flagStart, flagStart + FALSE.length));
+        totalBytes.addAndGet(json.length - (previous != null ? previous.json.length : 0));
+    }
+
+    @Scheduled(fixedDelayString = "${post-snapshots.sweep-interval-ms:30000}")
+    public void sweep() {
+        int before = snapshots.size();
+        snapshots.entrySet().removeIf(entry -> {
+            Snapshot snapshot = entry.getValue();
+            if (!snapshot.referenced) {
+                totalBytes.addAndGet(-snapshot.json.length);
+                return true;
+            }
+            snapshot.referenced = false;
+            return false;
+        });
+        admission.clear();
+        if (before > 0) {
+            log.debug("Post snapshot sweep kept {} of {} snapshots", snapshots.size(), before);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        outer:
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
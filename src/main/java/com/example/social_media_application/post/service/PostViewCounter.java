@@ -0,0 +1,220 @@
+package com.example.social_media_application.post.service;
+
+import com.example.social_media_application.common.sketch.HyperLogLog;
+import com.example.social_media_application.config.ViewStatsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views without touching the database on the read path.
+ *
+ * <p>Each viewed post has a striped {@link LongAdder} for total views and a
+ * {@link HyperLogLog} of viewer ids. Every {@code flush-interval-ms} both are drained and
+ * written to post_stats in batches: view counts are added, and the stored viewer sketch
+ * is locked, merged with this node's sketch by union and written back, so nodes never
+ * double count a viewer. A failed flush puts its deltas back for the next one.
+ *
+ * <p>A flush subtracts the views it read instead of resetting the adder, so views
+ * recorded while it drains are kept. A post idle for a whole interval is removed from the
+ * map and drained once more on the next flush, which picks up views recorded by callers
+ * that fetched its counts just before the removal.
+ */
+@Component
+@Slf4j
+public class PostViewCounter {
+
+    private static final String ENSURE_SQL = "INSERT INTO post_stats (post_id, view_count, unique_viewers, updated_at) "
+            + "SELECT ?, 0, 0, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) ON CONFLICT (post_id) DO NOTHING";
+
+    // Rows are locked in id order so concurrent flushes from several nodes cannot deadlock
+    private static final String LOCK_SQL = "SELECT post_id, viewer_sketch FROM post_stats "
+            + "WHERE post_id IN (%s) ORDER BY post_id FOR UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE post_stats SET view_count = view_count + ?, unique_viewers = ?, "
+            + "viewer_sketch = ?, updated_at = ? WHERE post_id = ?";
+
+    private static final class Pending {
+        private final LongAdder views = new LongAdder();
+        private final HyperLogLog viewers;
+
+        private Pending(int precision) {
+            this.viewers = new HyperLogLog(precision);
+        }
+    }
+
+    private record Delta(long postId, long views, HyperLogLog viewers) {
+    }
+
+    private record Retired(long postId, Pending counts) {
+    }
+
+    private final ViewStatsConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Queue<Retired> retired = new ConcurrentLinkedQueue<>();
+    private final Counter flushedViews;
+
+    public PostViewCounter(ViewStatsConfig config,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedViews = meterRegistry.counter("posts.views.flushed");
+        Gauge.builder("posts.views.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(Long postId, Long viewerId) {
+        Pending counts = pending.computeIfAbsent(postId, id -> new Pending(config.getSketchPrecision()));
+        counts.views.increment();
+        counts.viewers.add(viewerId);
+    }
+
+    /** Views recorded on this node and not flushed yet. */
+    public long pendingViews(Long postId) {
+        Pending counts = pending.get(postId);
+        return counts == null ? 0 : counts.views.sum();
+    }
+
+    /** Unique viewers of the stored sketch (may be null) combined with this node's unflushed viewers. */
+    public long uniqueViewers(Long postId, byte[] storedSketch) {
+        HyperLogLog viewers = storedSketch != null
+                ? HyperLogLog.fromBytes(storedSketch)
+                : new HyperLogLog(config.getSketchPrecision());
+        Pending counts = pending.get(postId);
+        if (counts != null && counts.viewers.precision() == viewers.precision()) {
+            viewers.merge(counts.viewers);
+        }
+        return viewers.estimate();
+    }
+
+    @Scheduled(fixedDelayString = "${view-stats.flush-interval-ms:10000}",
+            initialDelayString = "${view-stats.flush-interval-ms:10000}")
+    public void flush() {
+        List<Delta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int written = 0;
+        try {
+            for (int from = 0; from < deltas.size(); from += config.getFlushBatchSize()) {
+                List<Delta> batch = deltas.subList(from, Math.min(from + config.getFlushBatchSize(), deltas.size()));
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                written = from + batch.size();
+            }
+            log.debug("Flushed views of {} posts", deltas.size());
+        } catch (DataAccessException e) {
+            log.warn("View count flush failed, retrying next interval: {}", e.getMessage());
+            deltas.subList(written, deltas.size()).forEach(this::restore);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Delta> drain() {
+        // Entries retired by the previous flush; writers that fetched one just before it was
+        // removed have long finished, so this last drain picks up their views
+        List<Retired> stragglers = new ArrayList<>();
+        for (Retired entry; (entry = retired.poll()) != null; ) {
+            stragglers.add(entry);
+        }
+
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            Pending counts = entry.getValue();
+            if (!take(entry.getKey(), counts, deltas) && pending.remove(entry.getKey(), counts)) {
+                // Idle for a whole interval
+                retired.add(new Retired(entry.getKey(), counts));
+            }
+        }
+        stragglers.forEach(entry -> take(entry.postId(), entry.counts(), deltas));
+
+        List<Delta> sorted = new ArrayList<>(deltas.values());
+        sorted.sort((a, b) -> Long.compare(a.postId(), b.postId()));
+        return sorted;
+    }
+
+    // Subtracts what was read rather than resetting, so an increment racing the drain stays for the next one
+    private boolean take(long postId, Pending counts, Map<Long, Delta> deltas) {
+        long views = counts.views.sum();
+        HyperLogLog viewers = counts.viewers.drain();
+        if (views == 0 && viewers.isEmpty()) {
+            return false;
+        }
+        counts.views.add(-views);
+        deltas.merge(postId, new Delta(postId, views, viewers), (a, b) -> {
+            a.viewers().merge(b.viewers());
+            return new Delta(postId, a.views() + b.views(), a.viewers());
+        });
+        return true;
+    }
+
+    private void write(List<Delta> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ENSURE_SQL, batch.stream()
+                .map(delta -> new Object[]{delta.postId(), now, delta.postId()})
+                .toList());
+
+        Map<Long, byte[]> stored = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK_SQL, String.join(",", Collections.nCopies(batch.size(), "?"))),
+                (RowCallbackHandler) rs -> {
+                    stored.put(rs.getLong("post_id"), rs.getBytes("viewer_sketch"));
+                },
+                batch.stream().map(Delta::postId).toArray());
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        long views = 0;
+        for (Delta delta : batch) {
+            // Deleted posts have no row
+            if (!stored.containsKey(delta.postId())) {
+                continue;
+            }
+            byte[] sketch = stored.get(delta.postId());
+            HyperLogLog viewers = delta.viewers();
+            if (sketch != null) {
+                HyperLogLog merged = HyperLogLog.fromBytes(sketch);
+                if (merged.precision() == viewers.precision()) {
+                    merged.merge(viewers);
+                    viewers = merged;
+                }
+            }
+            rows.add(new Object[]{delta.views(), viewers.estimate(), viewers.toBytes(), now, delta.postId()});
+            views += delta.views();
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        flushedViews.increment(views);
+    }
+
+    private void restore(Delta delta) {
+        Pending counts = pending.computeIfAbsent(delta.postId(), id -> new Pending(delta.viewers().precision()));
+        counts.views.add(delta.views());
+        counts.viewers.merge(delta.viewers());
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.social_media_application.post.service;
+
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.common.util.PackedCounters;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventPublisher;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.exception.UnauthorizedException;
+import com.example.social_media_application.post.dto.ReactionResponse;
+import com.example.social_media_application.post.model.ReactionType;
+import com.example.social_media_application.post.repository.PostAccess;
+import com.example.social_media_application.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Post reactions, likes included: one post_reactions row per user and post holding a
+ * type code, per-type totals in the packed posts.reaction_counts column and the like
+ * total in posts.like_count. Every change adjusts the totals with a single atomic UPDATE
+ * in the same transaction as the row, so the totals are read with the post and never
+ * counted. Changes to and from LIKE also update the viewer likes cache and publish
+ * POST_LIKED / POST_UNLIKED.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactionService {
+
+    private static final String SELECT_SQL = "SELECT reaction FROM post_reactions "
+            + "WHERE post_id = ? AND user_id = ? FOR UPDATE";
+
+    private static final String INSERT_SQL = "INSERT INTO post_reactions (post_id, user_id, reaction, created_at) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (post_id, user_id) DO NOTHING";
+
+    private static final String UPDATE_SQL = "UPDATE post_reactions SET reaction = ?, created_at = ? "
+            + "WHERE post_id = ? AND user_id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM post_reactions WHERE post_id = ? AND user_id = ?";
+
+    // Adds one unit to one lane and removes one from another, then adds the change in likes.
+    // Full lanes are sticky both ways and empty ones ignore the removal (see PackedCounters)
+    private static final String ADJUST_COUNTS_SQL = "UPDATE posts SET reaction_counts = reaction_counts "
+            + "+ CASE WHEN (reaction_counts >> ?) & " + PackedCounters.LANE_MAX + " < " + PackedCounters.LANE_MAX
+            + " THEN ? ELSE 0 END "
+            + "- CASE WHEN (reaction_counts >> ?) & " + PackedCounters.LANE_MAX
+            + " BETWEEN 1 AND " + (PackedCounters.LANE_MAX - 1) + " THEN ? ELSE 0 END, "
+            + "like_count = like_count + ? "
+            + "WHERE id = ? RETURNING reaction_counts, like_count";
+
+    private static final String COUNTS_SQL = "SELECT reaction_counts, like_count FROM posts WHERE id = ?";
+
+    private static final String VIEWER_REACTIONS_SQL = "SELECT post_id, reaction FROM post_reactions "
+            + "WHERE user_id = ? AND post_id IN (%s)";
+
+    private static final RowMapper<Totals> TOTALS_MAPPER = (rs, rowNum) ->
+            new Totals(rs.getLong("reaction_counts"), rs.getInt("like_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ViewerLikesCache viewerLikesCache;
+    private final DomainEventPublisher domainEventPublisher;
+
+    @Transactional
+    public ReactionResponse react(Long postId, ReactionType type, String userEmail) {
+        log.info("Setting reaction {} on post: {} by user: {}", type, postId, userEmail);
+
+        Reactor reactor = checkAccess(postId, userEmail, "You don't have permission to react to this post");
+        return response(postId, type, setReaction(postId, reactor, type));
+    }
+
+    @Transactional
+    public ReactionResponse removeReaction(Long postId, String userEmail) {
+        log.info("Removing reaction on post: {} by user: {}", postId, userEmail);
+
+        Reactor reactor = checkAccess(postId, userEmail, "You don't have permission to react to this post");
+        return response(postId, null, removeReaction(postId, reactor));
+    }
+
+    /**
+     * Likes the post, replacing any other reaction of the user, or removes the like if
+     * there is one. Returns whether the post is now liked.
+     */
+    @Transactional
+    public boolean toggleLike(Long postId, String userEmail) {
+        log.info("Toggling like for post: {} by user: {}", postId, userEmail);
+
+        Reactor reactor = checkAccess(postId, userEmail, "You don't have permission to like this post");
+        Integer previous = currentReaction(postId, reactor.userId());
+        if (previous != null && previous == ReactionType.LIKE.getCode()) {
+            removeReaction(postId, reactor);
+            return false;
+        }
+        setReaction(postId, reactor, ReactionType.LIKE);
+        return true;
+    }
+
+    /** The user's reactions among the given posts; posts without one are left out. */
+    public Map<Long, ReactionType> getReactions(Long userId, Collection<Long> postIds) {
+        Map<Long, ReactionType> reactions = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return reactions;
+        }
+        List<Object> args = new ArrayList<>(postIds.size() + 1);
+        args.add(userId);
+        args.addAll(postIds);
+        jdbcTemplate.query(String.format(VIEWER_REACTIONS_SQL, String.join(",", Collections.nCopies(postIds.size(), "?"))),
+                (RowCallbackHandler) rs -> {
+                    reactions.put(rs.getLong("post_id"), ReactionType.fromCode(rs.getInt("reaction")));
+                },
+                args.toArray());
+        return reactions;
+    }
+
+    private Totals setReaction(Long postId, Reactor reactor, ReactionType type) {
+        Long userId = reactor.userId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Integer previous = currentReaction(postId, userId);
+        while (previous == null && jdbcTemplate.update(INSERT_SQL, postId, userId, type.getCode(), now) == 0) {
+            // A concurrent request of the same user inserted first and has committed by now,
+            // though another may have removed the row again since
+            previous = currentReaction(postId, userId);
+        }
+        if (previous != null && previous == type.getCode()) {
+            return currentTotals(postId);
+        }
+        if (previous != null) {
+            jdbcTemplate.update(UPDATE_SQL, type.getCode(), now, postId, userId);
+        }
+        Totals totals = adjustCounts(postId, type, previous != null ? ReactionType.fromCode(previous) : null);
+        likeChanged(postId, reactor, previous, type);
+        return totals;
+    }
+
+    private Totals removeReaction(Long postId, Reactor reactor) {
+        Integer previous = currentReaction(postId, reactor.userId());
+        if (previous == null) {
+            return currentTotals(postId);
+        }
+        jdbcTemplate.update(DELETE_SQL, postId, reactor.userId());
+        Totals totals = adjustCounts(postId, null, ReactionType.fromCode(previous));
+        likeChanged(postId, reactor, previous, null);
+        return totals;
+    }
+
+    private void likeChanged(Long postId, Reactor reactor, Integer previous, ReactionType current) {
+        boolean wasLiked = previous != null && previous == ReactionType.LIKE.getCode();
+        boolean liked = current == ReactionType.LIKE;
+        if (wasLiked == liked) {
+            return;
+        }
+        viewerLikesCache.postLikeChanged(reactor.userId(), postId, liked);
+        log.info(liked ? "Post liked: {}" : "Post unliked: {}", postId);
+        domainEventPublisher.publish(DomainEvent.builder()
+                .type(liked ? DomainEventType.POST_LIKED : DomainEventType.POST_UNLIKED)
+                .postId(postId)
+                .actorId(reactor.userId())
+                .recipientId(reactor.access().ownerId())
+                .publicPost(reactor.access().isPublic())
+                .build());
+    }
+
+    private Reactor checkAccess(Long postId, String userEmail, String deniedMessage) {
+        Long userId = userRepository.findIdByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
+        PostAccess access = postRepository.findAccessById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
+        if (!access.isPublic() && !access.ownerId().equals(userId)) {
+            throw new UnauthorizedException(deniedMessage);
+        }
+        return new Reactor(userId, access);
+    }
+
+    private Integer currentReaction(Long postId, Long userId) {
+        List<Integer> codes = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, postId, userId);
+        return codes.isEmpty() ? null : codes.get(0);
+    }
+
+    private Totals adjustCounts(Long postId, ReactionType added, ReactionType removed) {
+        boolean addLane = added != null && added.hasLane();
+        boolean removeLane = removed != null && removed.hasLane();
+        int likes = (added == ReactionType.LIKE ? 1 : 0) - (removed == ReactionType.LIKE ? 1 : 0);
+        List<Totals> totals = jdbcTemplate.query(ADJUST_COUNTS_SQL, TOTALS_MAPPER,
+                PackedCounters.shift(addLane ? added.getCode() : 0), addLane ? PackedCounters.unit(added.getCode()) : 0L,
+                PackedCounters.shift(removeLane ? removed.getCode() : 0), removeLane ? PackedCounters.unit(removed.getCode()) : 0L,
+                likes, postId);
+        return totals.isEmpty() ? Totals.NONE : totals.get(0);
+    }
+
+    private Totals currentTotals(Long postId) {
+        List<Totals> totals = jdbcTemplate.query(COUNTS_SQL, TOTALS_MAPPER, postId);
+        return totals.isEmpty() ? Totals.NONE : totals.get(0);
+    }
+
+    private ReactionResponse response(Long postId, ReactionType reaction, Totals totals) {
+        return ReactionResponse.builder()
+                .postId(postId)
+                .reaction(reaction)
+                .reactions(ReactionType.counts(totals.reactionCounts(), totals.likeCount()))
+                .build();
+    }
+
+    private record Reactor(Long userId, PostAccess access) {
+    }
+
+    private record Totals(long reactionCounts, int likeCount) {
+        static final Totals NONE = new Totals(0L, 0);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.social_media_application.post.service;
+
+import com.example.social_media_application.common.concurrent.HierarchicalTimingWheel;
+import com.example.social_media_application.config.ScheduledPostConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventPublisher;
+import com.example.social_media_application.hashtag.service.HashtagIndexer;
+import com.example.social_media_application.user.service.MentionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes scheduled posts when their publish_at arrives, without polling the posts
+ * table every tick.
+ *
+ * <p>Posts due within {@code horizon-ms} are held in a {@link HierarchicalTimingWheel}
+ * advanced every {@code tick-ms}. The wheel is refilled from the partial publish_at
+ * index every {@code refill-interval-ms}, and posts scheduled on this node are added
+ * as soon as their transaction commits. Due posts are published in batches of
+ * {@code batch-size}.
+ *
+ * <p>Every node loads the same posts. Publishing is a conditional UPDATE that clears
+ * publish_at, so when nodes race for a post only the one that gets the row back fires
+ * its fan-out: POST_CREATED, mentions and trending hashtags. A failed batch stays in
+ * the table and is picked up again by the next refill.
+ */
+@Service
+@Slf4j
+public class ScheduledPostPublisher {
+
+    private static final String HORIZON_SQL = "SELECT id, publish_at FROM posts "
+            + "WHERE publish_at IS NOT NULL AND publish_at < ? ORDER BY publish_at LIMIT ?";
+
+    // The feed orders by created_at, so a published post takes its scheduled time
+    private static final String PUBLISH_SQL = "UPDATE posts SET is_public = publish_public, created_at = publish_at, "
+            + "publish_at = NULL, publish_public = NULL WHERE id IN (%s) AND publish_at <= ? "
+            + "RETURNING id, user_id, is_public, content";
+
+    private record Pending(long postId, long publishAtMs) {
+    }
+
+    private record Published(long postId, long userId, boolean isPublic, String content) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventPublisher domainEventPublisher;
+    private final MentionService mentionService;
+    private final HashtagIndexer hashtagIndexer;
+    private final ScheduledPostConfig config;
+    private final Counter published;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HierarchicalTimingWheel<Pending> wheel;
+    // Latest known publish time per loaded post; wheel entries that disagree are stale
+    private final Map<Long, Long> tracked = new ConcurrentHashMap<>();
+    private final List<Pending> overdue = new ArrayList<>();
+
+    public ScheduledPostPublisher(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  DomainEventPublisher domainEventPublisher,
+                                  MentionService mentionService,
+                                  HashtagIndexer hashtagIndexer,
+                                  ScheduledPostConfig config,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.domainEventPublisher = domainEventPublisher;
+        this.mentionService = mentionService;
+        this.hashtagIndexer = hashtagIndexer;
+        this.config = config;
+        // 64 slots per level: level 0 covers a minute, level 1 an hour and level 2 three days at 1s ticks
+        this.wheel = new HierarchicalTimingWheel<>(config.getTickMs(), 6, 3, System.currentTimeMillis());
+        this.published = meterRegistry.counter("posts.scheduled.published");
+        Gauge.builder("posts.scheduled.tracked", tracked, Map::size).register(meterRegistry);
+    }
+
+    /** Tracks a post scheduled for {@code publishAt}, once the current transaction commits. */
+    public void schedule(Long postId, LocalDateTime publishAt) {
+        Pending pending = new Pending(postId, toMillis(publishAt));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            track(pending);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                track(pending);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${scheduled-posts.refill-interval-ms:60000}")
+    public void refill() {
+        LocalDateTime until = LocalDateTime.now().plusNanos(config.getHorizonMs() * 1_000_000);
+        try {
+            List<Pending> loaded = jdbcTemplate.query(HORIZON_SQL,
+                    (rs, i) -> new Pending(rs.getLong("id"), toMillis(rs.getTimestamp("publish_at").toLocalDateTime())),
+                    Timestamp.valueOf(until), config.getMaxLoaded());
+            loaded.forEach(this::track);
+            if (loaded.size() == config.getMaxLoaded()) {
+                log.warn("Scheduled post horizon holds more than {} posts; later ones load as it moves", loaded.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Loading scheduled posts failed, retrying next refill: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduled-posts.tick-ms:1000}")
+    public void tick() {
+        List<Pending> due;
+        lock.lock();
+        try {
+            due = wheel.advance(System.currentTimeMillis());
+            due.addAll(overdue);
+            overdue.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        List<Long> postIds = due.stream()
+                .filter(pending -> tracked.remove(pending.postId(), pending.publishAtMs()))
+                .map(Pending::postId)
+                .toList();
+        for (int from = 0; from < postIds.size(); from += config.getBatchSize()) {
+            publish(postIds.subList(from, Math.min(postIds.size(), from + config.getBatchSize())));
+        }
+    }
+
+    private void track(Pending pending) {
+        if (pending.publishAtMs() > System.currentTimeMillis() + config.getHorizonMs()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Long previous = tracked.put(pending.postId(), pending.publishAtMs());
+            if (previous != null && previous == pending.publishAtMs()) {
+                return;
+            }
+            if (!wheel.schedule(pending, pending.publishAtMs())) {
+                overdue.add(pending);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publish(List<Long> postIds) {
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Object> args = new ArrayList<>(postIds);
+                args.add(Timestamp.valueOf(LocalDateTime.now()));
+                List<Published> rows = jdbcTemplate.query(
+                        String.format(PUBLISH_SQL, String.join(",", Collections.nCopies(postIds.size(), "?"))),
+                        (rs, i) -> new Published(rs.getLong("id"), rs.getLong("user_id"),
+                                rs.getBoolean("is_public"), rs.getString("content")),
+                        args.toArray());
+                rows.forEach(this::fanOut);
+                return rows.size();
+            });
+            published.increment(count);
+            log.debug("Published {} of {} due scheduled posts", count, postIds.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Publishing {} scheduled posts failed, retrying next refill: {}", postIds.size(), e.getMessage());
+        }
+    }
+
+    private void fanOut(Published post) {
+        domainEventPublisher.publish(DomainEvent.builder()
+                .type(DomainEventType.POST_CREATED)
+                .postId(post.postId())
+                .actorId(post.userId())
+                .recipientId(post.userId())
+                .publicPost(post.isPublic())
+                .build());
+        mentionService.publishMentions(post.postId(), null, post.isPublic(), null, post.content(), post.userId());
+        hashtagIndexer.postPublished(post.content(), post.isPublic());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
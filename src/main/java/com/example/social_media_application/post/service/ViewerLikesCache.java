@@ -0,0 +1,190 @@
+package com.example.social_media_application.post.service;
+
+import com.example.social_media_application.comment.repository.CommentLikeRepository;
+import com.example.social_media_application.common.pg.PgNotifyHub;
+import com.example.social_media_application.config.LikedCacheConfig;
+import com.example.social_media_application.post.model.ReactionType;
+import com.example.social_media_application.post.repository.PostReactionRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ids of the posts and comments each active viewer has liked, as compressed Roaring
+ * bitmaps, so {@code isLikedByCurrentUser} for a whole page is answered without a query.
+ * An entry is loaded with one ids-only query per kind on first use, weighs roughly its
+ * in-memory size against {@code max-bytes} and is dropped after {@code idle-seconds}
+ * without access. Viewers with more than {@code max-likes-per-user} likes of a kind are
+ * not held for that kind and are answered from the database.
+ *
+ * <p>Entries are immutable: a like or unlike replaces the bitmap with an updated copy,
+ * so readers never lock. Changes are announced over pg_notify from inside the liking
+ * transaction and applied on every node, this one included, after the commit.
+ */
+@Component
+public class ViewerLikesCache {
+
+    static final String CHANNEL = "viewer_likes";
+
+    private static final String POST = "p";
+    private static final String COMMENT = "c";
+    private static final short LIKE = (short) ReactionType.LIKE.getCode();
+
+    private final PostReactionRepository postReactionRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final PgNotifyHub pgNotifyHub;
+    private final LoadingCache<Long, ViewerLikes> cache;
+    private final Counter fallbacks;
+
+    public ViewerLikesCache(PostReactionRepository postReactionRepository,
+                            CommentLikeRepository commentLikeRepository,
+                            PgNotifyHub pgNotifyHub,
+                            LikedCacheConfig config,
+                            MeterRegistry meterRegistry) {
+        this.postReactionRepository = postReactionRepository;
+        this.commentLikeRepository = commentLikeRepository;
+        this.pgNotifyHub = pgNotifyHub;
+
+        int maxLikes = config.getMaxLikesPerUser();
+        Limit limit = Limit.of(maxLikes + 1);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxBytes())
+                .weigher((Long userId, ViewerLikes likes) -> likes.weight())
+                .expireAfterAccess(Duration.ofSeconds(config.getIdleSeconds()))
+                .recordStats()
+                .build(userId -> new ViewerLikes(
+                        toBitmap(postReactionRepository.findPostIdsByUserId(userId, LIKE, limit), maxLikes),
+                        toBitmap(commentLikeRepository.findCommentIdsByUserId(userId, limit), maxLikes)));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "viewer-likes");
+        this.fallbacks = meterRegistry.counter("viewer.likes.fallbacks");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        pgNotifyHub.subscribe(CHANNEL, this::onNotification);
+        // Changes sent while the listener was down are lost
+        pgNotifyHub.onReconnect(cache::invalidateAll);
+    }
+
+    public boolean isPostLiked(Long userId, Long postId) {
+        return !likedPostIds(userId, List.of(postId)).isEmpty();
+    }
+
+    public boolean isCommentLiked(Long userId, Long commentId) {
+        return !likedCommentIds(userId, List.of(commentId)).isEmpty();
+    }
+
+    /** The subset of {@code postIds} the user has liked. */
+    public Set<Long> likedPostIds(Long userId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        Roaring64Bitmap posts = cache.get(userId).posts();
+        if (posts == null) {
+            fallbacks.increment();
+            return new HashSet<>(postReactionRepository.findPostIds(userId, LIKE, postIds));
+        }
+        return filter(posts, postIds);
+    }
+
+    /** The subset of {@code commentIds} the user has liked. */
+    public Set<Long> likedCommentIds(Long userId, Collection<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return Set.of();
+        }
+        Roaring64Bitmap comments = cache.get(userId).comments();
+        if (comments == null) {
+            fallbacks.increment();
+            return new HashSet<>(commentLikeRepository.findLikedCommentIds(userId, commentIds));
+        }
+        return filter(comments, commentIds);
+    }
+
+    /** Must be called inside the transaction that adds or removes the like. */
+    public void postLikeChanged(Long userId, Long postId, boolean liked) {
+        pgNotifyHub.publish(CHANNEL, POST + ":" + userId + ":" + postId + ":" + (liked ? 1 : 0));
+    }
+
+    /** Must be called inside the transaction that adds or removes the like. */
+    public void commentLikeChanged(Long userId, Long commentId, boolean liked) {
+        pgNotifyHub.publish(CHANNEL, COMMENT + ":" + userId + ":" + commentId + ":" + (liked ? 1 : 0));
+    }
+
+    void onNotification(String payload) {
+        String[] parts = payload.split(":");
+        boolean post = POST.equals(parts[0]);
+        long id = Long.parseLong(parts[2]);
+        boolean liked = "1".equals(parts[3]);
+
+        // Viewers that are not cached load the committed state on their next request
+        cache.asMap().computeIfPresent(Long.valueOf(parts[1]),
+                (userId, likes) -> post ? likes.withPost(id, liked) : likes.withComment(id, liked));
+    }
+
+    private static Roaring64Bitmap toBitmap(List<Long> ids, int maxLikes) {
+        if (ids.size() > maxLikes) {
+            return null;
+        }
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        ids.forEach(bitmap::addLong);
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    private static Set<Long> filter(Roaring64Bitmap bitmap, Collection<Long> ids) {
+        Set<Long> liked = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null && bitmap.contains(id)) {
+                liked.add(id);
+            }
+        }
+        return liked;
+    }
+
+    /** A null bitmap means the viewer has too many likes of that kind to hold. */
+    private record ViewerLikes(Roaring64Bitmap posts, Roaring64Bitmap comments) {
+
+        ViewerLikes withPost(long postId, boolean liked) {
+            return new ViewerLikes(update(posts, postId, liked), comments);
+        }
+
+        ViewerLikes withComment(long commentId, boolean liked) {
+            return new ViewerLikes(posts, update(comments, commentId, liked));
+        }
+
+        int weight() {
+            long bytes = 64 + sizeOf(posts) + sizeOf(comments);
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+
+        private static Roaring64Bitmap update(Roaring64Bitmap bitmap, long id, boolean liked) {
+            if (bitmap == null || bitmap.contains(id) == liked) {
+                return bitmap;
+            }
+            Roaring64Bitmap copy = bitmap.clone();
+            if (liked) {
+                copy.addLong(id);
+            } else {
+                copy.removeLong(id);
+            }
+            return copy;
+        }
+
+        private static long sizeOf(Roaring64Bitmap bitmap) {
+            return bitmap == null ? 0 : bitmap.getLongSizeInBytes();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.social_media_application.ranking.controller;
+
+import com.example.social_media_application.ranking.dto.HotPostPageResponse;
+import com.example.social_media_application.ranking.service.HotPostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/posts/hot")
+@RequiredArgsConstructor
+public class HotPostController {
+
+    private final HotPostService hotPostService;
+
+    @GetMapping
+    public ResponseEntity<HotPostPageResponse> getHotPosts(@RequestParam(required = false) Double cursorScore,
+                                                           @RequestParam(required = false) Long cursorId,
+                                                           @RequestParam(defaultValue = "10") int size,
+                                                           @AuthenticationPrincipal UserDetails userDetails) {
+        HotPostPageResponse response = hotPostService.getHotPosts(cursorScore, cursorId, size, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+}
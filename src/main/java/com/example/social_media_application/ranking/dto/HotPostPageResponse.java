@@ -0,0 +1,20 @@
+package com.example.social_media_application.ranking.dto;
+
+import com.example.social_media_application.post.dto.PostResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotPostPageResponse {
+    private List<PostResponse> content;
+    // Pass both back as cursorScore/cursorId to fetch the next page; null when there are no more posts
+    private Double nextCursorScore;
+    private Long nextCursorId;
+}
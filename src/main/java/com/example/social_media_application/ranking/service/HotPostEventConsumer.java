@@ -0,0 +1,25 @@
+package com.example.social_media_application.ranking.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class HotPostEventConsumer implements DomainEventConsumer {
+
+    private final HotPostRanking hotPostRanking;
+
+    @Override
+    public String getName() {
+        return "hot-ranking";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        events.forEach(hotPostRanking::apply);
+    }
+}
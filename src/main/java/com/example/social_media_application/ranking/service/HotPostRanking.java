@@ -0,0 +1,429 @@
+package com.example.social_media_application.ranking.service;
+
+import com.example.social_media_application.config.RankingConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory "hot" ranking of public posts.
+ *
+ * <p>A post's score is {@code log2(sum of weight * 2^((t - epoch) / halfLife))} over its
+ * creation, likes and comments, where {@code t} is when each happened. Because every
+ * contribution decays by the same factor as time passes, the order never changes on
+ * its own: a like or comment is a single log-add and nothing has to be re-scored.
+ *
+ * <p>The top {@code ranking.top-size} posts live in a skip list that readers page
+ * through without locking; writes come from the single event dispatcher thread and the
+ * rebuild, and are serialised by a lock. The ranking is rebuilt once the application is
+ * ready by streaming the posts table with the checkpointed scores in post_hot_scores.
+ *
+ * <p>Each node only sees the events it dispatches, so a checkpoint does not overwrite the
+ * stored score with its own: it adds the engagement it applied since its last checkpoint
+ * to the stored score, under an advisory lock that serialises the nodes, and then adopts
+ * the merged score so engagement from other nodes shows up in its ranking too.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotPostRanking {
+
+    private static final long EPOCH_SECONDS = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private static final String LOAD_SQL = "SELECT p.id, p.created_at, p.is_public, h.score, h.base_score, "
+            + "CASE WHEN h.score IS NULL THEN p.like_count END AS like_count, "
+            + "CASE WHEN h.score IS NULL THEN (SELECT count(*) FROM comments c WHERE c.post_id = p.id) END AS comment_count "
+            + "FROM posts p LEFT JOIN post_hot_scores h ON h.post_id = p.id";
+
+    private static final String UPSERT_SQL = "INSERT INTO post_hot_scores (post_id, score, base_score, updated_at) "
+            + "SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) "
+            + "ON CONFLICT (post_id) DO UPDATE SET score = EXCLUDED.score, base_score = EXCLUDED.base_score, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final String CHECKPOINT_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('hot-ranking-checkpoint'))";
+
+    private static final String STORED_SQL = "SELECT post_id, score, base_score FROM post_hot_scores WHERE post_id = ANY(?)";
+
+    /** Highest score first, newest post first on ties. */
+    public record Ranked(double score, long postId) {
+    }
+
+    private record Pending(Tracked tracked, double score, double added, double removed) {
+    }
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::postId).reversed());
+
+    private static final class Tracked {
+        private final long postId;
+        private final double base;
+        private double score;
+        private boolean isPublic;
+        private volatile boolean dirty;
+        // Log-sums of the weights added and subtracted since the last checkpoint
+        private double added = Double.NEGATIVE_INFINITY;
+        private double removed = Double.NEGATIVE_INFINITY;
+
+        private Tracked(long postId, double base, double score, boolean isPublic) {
+            this.postId = postId;
+            this.base = base;
+            this.score = score;
+            this.isPublic = isPublic;
+        }
+    }
+
+    private final RankingConfig rankingConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> top = new ConcurrentSkipListSet<>(ORDER);
+    private final ReentrantLock lock = new ReentrantLock();
+    private int topCount;
+    private volatile boolean rebuilt;
+    private JdbcTemplate streamingTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate checkpointTransaction;
+
+    @PostConstruct
+    void init() {
+        streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streamingTemplate.setFetchSize(rankingConfig.getRebuildFetchSize());
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        checkpointTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Hot ranking rebuild failed, retrying at the next checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Posts after the {@code (cursorScore, cursorId)} keyset, or from the top when the
+     * cursor is null.
+     */
+    public List<Ranked> page(Double cursorScore, Long cursorId, int limit) {
+        NavigableSet<Ranked> view = cursorScore == null || cursorId == null
+                ? top
+                : top.tailSet(new Ranked(cursorScore, cursorId), false);
+        List<Ranked> page = new ArrayList<>(limit);
+        for (Ranked ranked : view) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(ranked);
+        }
+        return page;
+    }
+
+    public void apply(DomainEvent event) {
+        Long postId = event.getPostId();
+        if (postId == null) {
+            return;
+        }
+        double at = exponent(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now());
+
+        switch (event.getType()) {
+            case POST_CREATED -> {
+                double base = Math.log(rankingConfig.getPostWeight()) / Math.log(2) + at;
+                Tracked created = new Tracked(postId, base, base, Boolean.TRUE.equals(event.getPublicPost()));
+                lock.lock();
+                try {
+                    tracked.put(postId, created);
+                    rank(created, Double.NaN);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            case POST_DELETED -> {
+                lock.lock();
+                try {
+                    Tracked removed = tracked.remove(postId);
+                    if (removed != null && top.remove(new Ranked(removed.score, postId))) {
+                        topCount--;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            case POST_UPDATED -> update(postId, t -> t.isPublic = Boolean.TRUE.equals(event.getPublicPost()));
+            case POST_LIKED -> update(postId, t -> add(t, weight(rankingConfig.getLikeWeight(), at)));
+            case POST_UNLIKED -> update(postId, t -> subtract(t, weight(rankingConfig.getLikeWeight(), at)));
+            case COMMENT_CREATED -> update(postId, t -> add(t, weight(rankingConfig.getCommentWeight(), at)));
+            case COMMENT_DELETED -> update(postId, t -> subtract(t, weight(rankingConfig.getCommentWeight(), at)));
+            default -> {
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.checkpoint-interval-ms:60000}",
+            initialDelayString = "${ranking.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        try {
+            if (!rebuilt) {
+                rebuild();
+            }
+            writeCheckpoint();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Hot ranking checkpoint failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        int[] scanned = {0};
+        readOnlyTransaction.executeWithoutResult(status ->
+                streamingTemplate.query(LOAD_SQL + " WHERE p.is_public = true", (RowCallbackHandler) rs -> {
+                    scanned[0]++;
+                    offerLoaded(rs);
+                }));
+        rebuilt = true;
+        log.info("Rebuilt hot ranking from {} posts in {} ms, {} ranked",
+                scanned[0], (System.nanoTime() - started) / 1_000_000, topCount);
+    }
+
+    private void writeCheckpoint() {
+        List<Tracked> dirty = tracked.values().stream().filter(t -> t.dirty).toList();
+        if (!dirty.isEmpty()) {
+            // Snapshot and reset the deltas; events applied from here on go into the next checkpoint
+            Map<Long, Pending> pending = new HashMap<>();
+            lock.lock();
+            try {
+                for (Tracked t : dirty) {
+                    pending.put(t.postId, new Pending(t, t.score, t.added, t.removed));
+                    t.added = Double.NEGATIVE_INFINITY;
+                    t.removed = Double.NEGATIVE_INFINITY;
+                    t.dirty = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            Map<Long, Double> merged;
+            try {
+                merged = checkpointTransaction.execute(status -> merge(pending));
+            } catch (DataAccessException | TransactionException e) {
+                restore(pending.values());
+                throw e;
+            }
+            adopt(pending.values(), merged);
+            log.debug("Checkpointed {} hot scores", merged.size());
+        }
+        // Only ranked or not-yet-persisted posts need to stay in memory
+        lock.lock();
+        try {
+            tracked.values().removeIf(t -> !t.dirty && !top.contains(new Ranked(t.score, t.postId)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Adds this node's deltas to the stored scores and returns the merged score per post. */
+    private Map<Long, Double> merge(Map<Long, Pending> pending) {
+        jdbcTemplate.execute(CHECKPOINT_LOCK_SQL);
+        Map<Long, double[]> stored = new HashMap<>();
+        jdbcTemplate.query(STORED_SQL, (RowCallbackHandler) rs -> stored.put(rs.getLong("post_id"),
+                        new double[]{rs.getDouble("score"), rs.getDouble("base_score")}),
+                (Object) pending.keySet().toArray(Long[]::new));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Double> merged = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        pending.forEach((postId, p) -> {
+            double[] row = stored.get(postId);
+            // Never stored: this node's score, seeded from the post's counts, is the whole score
+            double base = row == null ? p.tracked().base : row[1];
+            double score = row == null ? p.score() : logSubtract(logAdd(row[0], p.added()), p.removed(), base);
+            merged.put(postId, score);
+            rows.add(new Object[]{postId, score, base, now, postId});
+        });
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return merged;
+    }
+
+    private void restore(Collection<Pending> pending) {
+        lock.lock();
+        try {
+            for (Pending p : pending) {
+                p.tracked().added = logAdd(p.tracked().added, p.added());
+                p.tracked().removed = logAdd(p.tracked().removed, p.removed());
+                p.tracked().dirty = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Takes the merged score, plus whatever this node applied while the checkpoint was written
+    private void adopt(Collection<Pending> pending, Map<Long, Double> merged) {
+        lock.lock();
+        try {
+            for (Pending p : pending) {
+                Tracked t = p.tracked();
+                if (tracked.get(t.postId) != t) {
+                    continue;
+                }
+                double before = top.contains(new Ranked(t.score, t.postId)) ? t.score : Double.NaN;
+                t.score = logSubtract(logAdd(merged.get(t.postId), t.added), t.removed, t.base);
+                rank(t, before);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(Long postId, Consumer<Tracked> change) {
+        Tracked current = tracked.get(postId);
+        if (current == null) {
+            current = load(postId);
+            if (current == null) {
+                return;
+            }
+        }
+        lock.lock();
+        try {
+            Tracked t = tracked.putIfAbsent(postId, current);
+            if (t == null) {
+                t = current;
+            }
+            double before = top.contains(new Ranked(t.score, postId)) ? t.score : Double.NaN;
+            change.accept(t);
+            t.dirty = true;
+            rank(t, before);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Tracked load(Long postId) {
+        List<Tracked> loaded = jdbcTemplate.query(LOAD_SQL + " WHERE p.id = ?", (rs, rowNum) -> fromRow(rs), postId);
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+
+    private void offerLoaded(ResultSet rs) throws SQLException {
+        Tracked candidate = fromRow(rs);
+        lock.lock();
+        try {
+            // Posts touched since startup already carry a newer score
+            if (tracked.containsKey(candidate.postId)) {
+                return;
+            }
+            if (topCount >= rankingConfig.getTopSize() && ORDER.compare(new Ranked(candidate.score, candidate.postId), top.last()) > 0) {
+                return;
+            }
+            tracked.put(candidate.postId, candidate);
+            rank(candidate, Double.NaN);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Tracked fromRow(ResultSet rs) throws SQLException {
+        long postId = rs.getLong("id");
+        boolean isPublic = rs.getBoolean("is_public");
+        double score = rs.getDouble("score");
+        if (!rs.wasNull()) {
+            return new Tracked(postId, rs.getDouble("base_score"), score, isPublic);
+        }
+
+        // Never checkpointed: approximate by crediting existing engagement at creation time
+        double created = exponent(rs.getTimestamp("created_at").toLocalDateTime());
+        double engagement = rankingConfig.getPostWeight()
+                + rankingConfig.getLikeWeight() * rs.getLong("like_count")
+                + rankingConfig.getCommentWeight() * rs.getLong("comment_count");
+        Tracked seeded = new Tracked(postId, weight(rankingConfig.getPostWeight(), created),
+                weight(engagement, created), isPublic);
+        seeded.dirty = true;
+        return seeded;
+    }
+
+    /** Re-positions {@code t} in the top set; {@code before} is its ranked score or NaN if unranked. Caller holds the lock. */
+    private void rank(Tracked t, double before) {
+        if (!Double.isNaN(before) && top.remove(new Ranked(before, t.postId))) {
+            topCount--;
+        }
+        if (!t.isPublic) {
+            return;
+        }
+        top.add(new Ranked(t.score, t.postId));
+        topCount++;
+        while (topCount > rankingConfig.getTopSize()) {
+            Ranked evicted = top.pollLast();
+            topCount--;
+            Tracked dropped = tracked.get(evicted.postId());
+            if (dropped != null && !dropped.dirty) {
+                tracked.remove(evicted.postId());
+            }
+        }
+    }
+
+    private double exponent(LocalDateTime time) {
+        long seconds = time.atZone(ZoneId.systemDefault()).toEpochSecond() - EPOCH_SECONDS;
+        return seconds / (rankingConfig.getHalfLifeHours() * 3600.0);
+    }
+
+    private static double weight(double weight, double exponent) {
+        return Math.log(weight) / Math.log(2) + exponent;
+    }
+
+    private static void add(Tracked t, double b) {
+        t.score = logAdd(t.score, b);
+        t.added = logAdd(t.added, b);
+    }
+
+    private static void subtract(Tracked t, double b) {
+        t.score = logSubtract(t.score, b, t.base);
+        t.removed = logAdd(t.removed, b);
+    }
+
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        if (max == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+        return max + Math.log(Math.pow(2, a - max) + Math.pow(2, b - max)) / Math.log(2);
+    }
+
+    private static double logSubtract(double score, double b, double base) {
+        // An unlike is weighed at the time it happens, which can exceed what the like added; never drop below the post itself
+        if (b >= score) {
+            return base;
+        }
+        double result = score + Math.log(1 - Math.pow(2, b - score)) / Math.log(2);
+        return Math.max(result, base);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.social_media_application.ranking.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.RankingConfig;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.service.PostService;
+import com.example.social_media_application.ranking.dto.HotPostPageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotPostService {
+
+    private final HotPostRanking hotPostRanking;
+    private final PostService postService;
+    private final UserRepository userRepository;
+    private final RankingConfig rankingConfig;
+
+    @Transactional(readOnly = true)
+    public HotPostPageResponse getHotPosts(Double cursorScore, Long cursorId, int size, String userEmail) {
+        log.info("Fetching hot posts for user: {}, cursor: {}/{}", userEmail, cursorScore, cursorId);
+
+        User currentUser = getUserByEmail(userEmail);
+        int pageSize = Math.max(1, Math.min(size, rankingConfig.getMaxPageSize()));
+
+        List<HotPostRanking.Ranked> ranked = hotPostRanking.page(cursorScore, cursorId, pageSize);
+        List<PostResponse> content = postService.getPostsInOrder(
+                ranked.stream().map(HotPostRanking.Ranked::postId).toList(), currentUser);
+
+        HotPostRanking.Ranked last = ranked.size() == pageSize ? ranked.get(ranked.size() - 1) : null;
+
+        return HotPostPageResponse.builder()
+                .content(content)
+                .nextCursorScore(last != null ? last.score() : null)
+                .nextCursorId(last != null ? last.postId() : null)
+                .build();
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.social_media_application.security;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.config.WebSocketConfig;
+import com.example.social_media_application.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Browsers cannot set headers on the WebSocket handshake, so the JWT is sent on the
+ * STOMP CONNECT frame instead. Subscriptions are limited to comment topics of posts
+ * the user is allowed to see. Topics are written by the server only: client SEND
+ * frames are accepted for application destinations alone, never for the broker.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Pattern COMMENT_TOPIC = Pattern.compile("^/topic/posts/(\\d+)/comments$");
+    private static final String APPLICATION_PREFIX = WebSocketConfig.APPLICATION_DESTINATION_PREFIX + "/";
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor.getUser(), accessor.getDestination());
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            authorizeSend(accessor.getUser(), accessor.getDestination());
+        } else if (StompCommand.MESSAGE.equals(accessor.getCommand())) {
+            throw new AccessDeniedException("MESSAGE frames are sent by the server only");
+        }
+        return message;
+    }
+
+    // A SEND to /topic/** would reach the broker and every subscriber as if the server had sent it
+    private void authorizeSend(Principal principal, String destination) {
+        if (principal == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        if (destination == null || !destination.startsWith(APPLICATION_PREFIX)) {
+            throw new AccessDeniedException("Clients cannot send to " + destination);
+        }
+    }
+
+    private Principal authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing bearer token");
+        }
+
+        String jwt = authHeader.substring(7);
+        String userEmail = jwtUtil.extractUsername(jwt);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (!jwtUtil.validateToken(jwt, userDetails)) {
+            throw new AccessDeniedException("Invalid token");
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private void authorizeSubscription(Principal principal, String destination) {
+        if (principal == null || destination == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+
+        Matcher matcher = COMMENT_TOPIC.matcher(destination);
+        if (!matcher.matches()) {
+            throw new AccessDeniedException("Unknown destination: " + destination);
+        }
+
+        Long postId = Long.valueOf(matcher.group(1));
+        User user = userRepository.findByEmail(principal.getName())
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
+        if (postRepository.findVisibleIds(List.of(postId), user.getId()).isEmpty()) {
+            throw new AccessDeniedException("You don't have permission to view comments on this post");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.social_media_application.sync.controller;
+
+import com.example.social_media_application.sync.dto.SyncResponse;
+import com.example.social_media_application.sync.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(defaultValue = "0") long since,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        SyncResponse response = syncService.sync(since, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.social_media_application.sync.dto;
+
+import com.example.social_media_application.comment.dto.CommentResponse;
+import com.example.social_media_application.post.dto.PostResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private List<PostResponse> posts;
+    private List<CommentResponse> comments;
+    private List<SyncTombstoneResponse> removed;
+    // Pass back as "since" on the next call
+    private Long watermark;
+    // More changes are waiting; call again right away with the new watermark
+    private Boolean hasMore;
+    // The watermark is older than the retained tombstones; reload everything and continue from watermark
+    private Boolean resetRequired;
+}
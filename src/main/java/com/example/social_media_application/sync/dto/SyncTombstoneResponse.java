@@ -0,0 +1,17 @@
+package com.example.social_media_application.sync.dto;
+
+import com.example.social_media_application.sync.model.TombstoneType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneResponse {
+    private TombstoneType type;
+    private Long id;
+    private Long postId;
+}
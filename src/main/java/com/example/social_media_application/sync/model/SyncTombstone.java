@@ -0,0 +1,51 @@
+package com.example.social_media_application.sync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Written by database triggers when a post or comment is deleted or a post is made
+ * private; never written by the application. Purged after the retention period.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstone_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_sync_tombstone_deleted_at", columnList = "deleted_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private TombstoneType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "is_public")
+    private Boolean isPublic;
+
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,8 @@
+package com.example.social_media_application.sync.model;
+
+public enum TombstoneType {
+    POST,
+    COMMENT,
+    // A post that was public became private; other users should drop it
+    POST_HIDDEN
+}
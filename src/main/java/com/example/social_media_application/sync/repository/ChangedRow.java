@@ -0,0 +1,6 @@
+package com.example.social_media_application.sync.repository;
+
+public interface ChangedRow {
+    Long getId();
+    Long getSeq();
+}
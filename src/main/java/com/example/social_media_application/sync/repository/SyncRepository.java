@@ -0,0 +1,40 @@
+package com.example.social_media_application.sync.repository;
+
+import com.example.social_media_application.sync.model.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Change feed queries. Each one is a range scan on a change_seq index between the
+ * client's watermark and the settled horizon, filtered by what the viewer may see.
+ */
+@Repository
+public interface SyncRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query(value = "SELECT p.id AS id, p.change_seq AS seq FROM posts p " +
+            "WHERE p.change_seq > :since AND p.change_seq <= :horizon " +
+            "AND (p.is_public = true OR p.user_id = :userId) " +
+            "ORDER BY p.change_seq LIMIT :limit", nativeQuery = true)
+    List<ChangedRow> findChangedPosts(@Param("since") long since, @Param("horizon") long horizon,
+                                      @Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT c.id AS id, c.change_seq AS seq FROM comments c JOIN posts p ON p.id = c.post_id " +
+            "WHERE c.change_seq > :since AND c.change_seq <= :horizon " +
+            "AND (p.is_public = true OR p.user_id = :userId) " +
+            "ORDER BY c.change_seq LIMIT :limit", nativeQuery = true)
+    List<ChangedRow> findChangedComments(@Param("since") long since, @Param("horizon") long horizon,
+                                         @Param("userId") Long userId, @Param("limit") int limit);
+
+    // Owners keep seeing their own posts, so they never get POST_HIDDEN
+    @Query(value = "SELECT * FROM sync_tombstones t " +
+            "WHERE t.change_seq > :since AND t.change_seq <= :horizon " +
+            "AND (t.is_public = true OR t.owner_id = :userId) " +
+            "AND NOT (t.entity_type = 'POST_HIDDEN' AND t.owner_id = :userId) " +
+            "ORDER BY t.change_seq LIMIT :limit", nativeQuery = true)
+    List<SyncTombstone> findTombstones(@Param("since") long since, @Param("horizon") long horizon,
+                                       @Param("userId") Long userId, @Param("limit") int limit);
+}
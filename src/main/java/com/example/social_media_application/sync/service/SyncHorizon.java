@@ -0,0 +1,97 @@
+package com.example.social_media_application.sync.service;
+
+import com.example.social_media_application.config.SyncConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Tracks the highest change_seq that is safe to hand out as a watermark.
+ *
+ * <p>Sequence values are taken when a row is written, not when its transaction commits,
+ * so a just-issued value may still be invisible. Each sample reads the sequence position
+ * and then takes an xid of its own, which is above the xid of every transaction that
+ * could hold a value at or below that position. Once the oldest running transaction
+ * ({@code pg_snapshot_xmin}) is past that xid, they have all committed or rolled back,
+ * however long they ran, and the position becomes the horizon. The xid is only taken
+ * when the sequence has moved, so an idle database is not charged one per sample.
+ *
+ * <p>A writer takes its sequence value a moment before its xid, inside the same
+ * statement, so a sample must also be {@code sync.settle-ms} old. The first query picks
+ * up the tombstone purge watermark.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyncHorizon {
+
+    private static final String SAMPLE_SQL = "SELECT "
+            + "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM change_seq) AS seq, "
+            + "(SELECT purged_through FROM sync_state WHERE id = 1) AS purged_through, "
+            + "pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS xmin";
+
+    public record State(long horizon, long purgedThrough) {
+    }
+
+    // Its own statement, so the xid is assigned after the sequence was read
+    private static final String XID_SQL = "SELECT pg_current_xact_id()::text::bigint";
+
+    private record Sample(long takenAt, long seq, long xid) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncConfig syncConfig;
+    // Only touched by the scheduler thread
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private volatile State state;
+
+    /** The current horizon, or null until one sample has settled. */
+    public State current() {
+        return state;
+    }
+
+    @Scheduled(fixedDelayString = "${sync.sample-interval-ms:500}")
+    public void sample() {
+        long seq;
+        long purgedThrough;
+        long xmin;
+        Long xid = null;
+        try {
+            long[] sampled = jdbcTemplate.queryForObject(SAMPLE_SQL, (rs, rowNum) ->
+                    new long[]{rs.getLong("seq"), rs.getLong("purged_through"), rs.getLong("xmin")});
+            seq = sampled[0];
+            purgedThrough = sampled[1];
+            xmin = sampled[2];
+            if (samples.isEmpty() || samples.peekLast().seq() != seq) {
+                xid = jdbcTemplate.queryForObject(XID_SQL, Long.class);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not sample change sequence: {}", e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (xid != null) {
+            samples.addLast(new Sample(now, seq, xid));
+        }
+
+        // Keep only the newest sample that has settled, plus the ones still settling
+        Sample settled = null;
+        while (!samples.isEmpty() && samples.peekFirst().takenAt() <= now - syncConfig.getSettleMs()
+                && samples.peekFirst().xid() < xmin) {
+            settled = samples.pollFirst();
+        }
+        if (settled != null) {
+            samples.addFirst(settled);
+            state = new State(settled.seq(), purgedThrough);
+        } else if (state != null) {
+            state = new State(state.horizon(), purgedThrough);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.social_media_application.sync.service;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.comment.service.CommentService;
+import com.example.social_media_application.config.SyncConfig;
+import com.example.social_media_application.exception.ResourceNotFoundException;
+import com.example.social_media_application.post.service.PostService;
+import com.example.social_media_application.sync.dto.SyncResponse;
+import com.example.social_media_application.sync.dto.SyncTombstoneResponse;
+import com.example.social_media_application.sync.model.SyncTombstone;
+import com.example.social_media_application.sync.repository.ChangedRow;
+import com.example.social_media_application.sync.repository.SyncRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final SyncRepository syncRepository;
+    private final SyncHorizon syncHorizon;
+    private final PostService postService;
+    private final CommentService commentService;
+    private final UserRepository userRepository;
+    private final SyncConfig syncConfig;
+
+    @Transactional(readOnly = true)
+    public SyncResponse sync(long since, String userEmail) {
+        log.info("Syncing changes since {} for user: {}", since, userEmail);
+
+        User currentUser = getUserByEmail(userEmail);
+        long from = Math.max(0, since);
+        SyncHorizon.State state = syncHorizon.current();
+
+        // Nothing has settled yet, or the client is already caught up: no query at all
+        if (state == null || from >= state.horizon()) {
+            return emptyResponse(from, false);
+        }
+        if (from > 0 && from < state.purgedThrough()) {
+            return emptyResponse(state.horizon(), true);
+        }
+
+        int limit = syncConfig.getMaxChanges();
+        List<ChangedRow> posts = syncRepository.findChangedPosts(from, state.horizon(), currentUser.getId(), limit);
+        List<ChangedRow> comments = syncRepository.findChangedComments(from, state.horizon(), currentUser.getId(), limit);
+        List<SyncTombstone> tombstones = syncRepository.findTombstones(from, state.horizon(), currentUser.getId(), limit);
+
+        // A full list may have been cut short, so only advance to the lowest point every list reached
+        long watermark = state.horizon();
+        if (posts.size() == limit) {
+            watermark = Math.min(watermark, posts.get(posts.size() - 1).getSeq());
+        }
+        if (comments.size() == limit) {
+            watermark = Math.min(watermark, comments.get(comments.size() - 1).getSeq());
+        }
+        if (tombstones.size() == limit) {
+            watermark = Math.min(watermark, tombstones.get(tombstones.size() - 1).getChangeSeq());
+        }
+        long upTo = watermark;
+
+        List<Long> postIds = posts.stream().filter(row -> row.getSeq() <= upTo).map(ChangedRow::getId).toList();
+        List<Long> commentIds = comments.stream().filter(row -> row.getSeq() <= upTo).map(ChangedRow::getId).toList();
+
+        return SyncResponse.builder()
+                .posts(postService.getPostsInOrder(postIds, currentUser))
+                .comments(commentService.getCommentsInOrder(commentIds, currentUser))
+                .removed(tombstones.stream()
+                        .filter(tombstone -> tombstone.getChangeSeq() <= upTo)
+                        .map(this::mapToTombstoneResponse)
+                        .collect(Collectors.toList()))
+                .watermark(watermark)
+                .hasMore(watermark < state.horizon())
+                .resetRequired(false)
+                .build();
+    }
+
+    private SyncResponse emptyResponse(long watermark, boolean resetRequired) {
+        return SyncResponse.builder()
+                .posts(List.of())
+                .comments(List.of())
+                .removed(List.of())
+                .watermark(watermark)
+                .hasMore(false)
+                .resetRequired(resetRequired)
+                .build();
+    }
+
+    private SyncTombstoneResponse mapToTombstoneResponse(SyncTombstone tombstone) {
+        return SyncTombstoneResponse.builder()
+                .type(tombstone.getEntityType())
+                .id(tombstone.getEntityId())
+                .postId(tombstone.getPostId())
+                .build();
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
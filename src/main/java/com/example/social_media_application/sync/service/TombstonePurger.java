@@ -0,0 +1,44 @@
+package com.example.social_media_application.sync.service;
+
+import com.example.social_media_application.common.scheduler.ClusterJob;
+import com.example.social_media_application.common.scheduler.JobContext;
+import com.example.social_media_application.config.SyncConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TombstonePurger implements ClusterJob {
+
+    // Deleting and raising the purge watermark in one statement keeps them consistent
+    private static final String PURGE_SQL = "WITH purged AS ("
+            + "DELETE FROM sync_tombstones WHERE deleted_at < ? RETURNING change_seq) "
+            + "UPDATE sync_state SET purged_through = GREATEST(purged_through, "
+            + "(SELECT coalesce(max(change_seq), 0) FROM purged)) WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncConfig syncConfig;
+
+    @Override
+    public String getName() {
+        return "sync-tombstone-purge";
+    }
+
+    @Override
+    public String getCron() {
+        return syncConfig.getTombstonePurgeCron();
+    }
+
+    @Override
+    public void run(JobContext context) {
+        LocalDateTime before = LocalDateTime.now().minusDays(syncConfig.getTombstoneRetentionDays());
+        jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(before));
+        log.info("Purged sync tombstones older than {}", before);
+    }
+}
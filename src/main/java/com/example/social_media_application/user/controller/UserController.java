@@ -0,0 +1,23 @@
+package com.example.social_media_application.user.controller;
+
+import com.example.social_media_application.user.dto.UserSearchResult;
+import com.example.social_media_application.user.service.UserSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserSearchService userSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchResult>> search(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userSearchService.search(prefix, limit));
+    }
+}
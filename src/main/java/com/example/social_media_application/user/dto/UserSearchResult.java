@@ -0,0 +1,18 @@
+package com.example.social_media_application.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResult {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    // Insert as "@" + mention to mention the user in a post or comment
+    private String mention;
+}
@@ -0,0 +1,82 @@
+package com.example.social_media_application.user.service;
+
+import com.example.social_media_application.config.UserSearchConfig;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds @mentions in post and comment content and notifies the mentioned users. A
+ * mention is the user's full name with underscores for spaces ({@code @Jane_Doe}), as
+ * returned by user search, and is resolved through the {@link UserSearchIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MentionService {
+
+    // Not part of a word or an email address; trailing apostrophes and hyphens are punctuation
+    private static final Pattern MENTION = Pattern.compile("(?<![\\p{L}\\p{N}_@.])@(\\p{L}[\\p{L}\\p{N}_'-]{0,100})");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("['-]+$");
+
+    private final UserSearchIndex userSearchIndex;
+    private final DomainEventPublisher domainEventPublisher;
+    private final UserSearchConfig config;
+
+    /** Ids of the distinct users mentioned in {@code content}, capped at {@code max-mentions-per-post}. */
+    public Set<Long> resolve(String content) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        if (content == null || content.indexOf('@') < 0) {
+            return userIds;
+        }
+        Matcher matcher = MENTION.matcher(content);
+        int seen = 0;
+        while (matcher.find() && seen < config.getMaxMentionsPerPost()) {
+            seen++;
+            Long userId = userSearchIndex.resolveMention(TRAILING_PUNCTUATION.matcher(matcher.group(1)).replaceAll(""));
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Notifies users mentioned in {@code content} but not in {@code previousContent}, so
+     * editing a post does not notify the same people again. Mentions in private posts
+     * are ignored because the mentioned users cannot see them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishMentions(Long postId, Long commentId, boolean publicPost,
+                                String previousContent, String content, Long actorId) {
+        if (!publicPost) {
+            return;
+        }
+        Set<Long> mentioned = resolve(content);
+        mentioned.removeAll(resolve(previousContent));
+        mentioned.remove(actorId);
+        for (Long userId : mentioned) {
+            domainEventPublisher.publish(DomainEvent.builder()
+                    .type(DomainEventType.USER_MENTIONED)
+                    .postId(postId)
+                    .commentId(commentId)
+                    .actorId(actorId)
+                    .recipientId(userId)
+                    .publicPost(true)
+                    .build());
+        }
+        if (!mentioned.isEmpty()) {
+            log.debug("Published {} mentions for post {}, comment {}", mentioned.size(), postId, commentId);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.social_media_application.user.service;
+
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class UserSearchEventConsumer implements DomainEventConsumer {
+
+    private final UserSearchIndex userSearchIndex;
+
+    @Override
+    public String getName() {
+        return "user-search";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case POST_CREATED, COMMENT_CREATED -> userSearchIndex.recordActivity(event.getActorId());
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.social_media_application.user.service;
+
+import com.example.social_media_application.common.cache.InvalidationBus;
+import com.example.social_media_application.config.UserSearchConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory prefix index over user names, for user search and @mention resolution.
+ *
+ * <p>Every active user is indexed under "first last" and "last first", lower-cased with
+ * whitespace collapsed. The keys of all users sit in one sorted array, so the users
+ * matching a prefix are a contiguous range found by two binary searches. Matches are
+ * ranked by activity, the user's posts plus comments, keeping only the top {@code k} in
+ * a small heap. Nothing is locked on the read path.
+ *
+ * <p>The sorted arrays are an immutable snapshot, streamed from the users table at
+ * startup and every {@code rebuild-interval-ms}. Users registered or renamed since then
+ * go into a small sorted overlay that searches merge in. Once the overlay holds more
+ * than {@code max-overlay-size} users, both are merged into a new snapshot in memory.
+ * Changes reach every node through the {@link InvalidationBus}. Each node reloads
+ * changed users in one query every {@code refresh-interval-ms}. Activity is counted
+ * locally from domain events, and the periodic rebuild restores exact counts, including
+ * drops from deleted posts and comments. Events counted while its query runs are kept
+ * per rebuild generation and added on top of the counts it loaded.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    static final String REGION = "user-search";
+
+    // Keys are unique per user: the name, then NUL (sorts before every name character), then the id
+    private static final char SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private static final String LOAD_SQL = "SELECT u.id, u.first_name, u.last_name, "
+            + "coalesce(p.n, 0) + coalesce(c.n, 0) AS activity FROM users u "
+            + "LEFT JOIN (SELECT user_id, count(*) AS n FROM posts GROUP BY user_id) p ON p.user_id = u.id "
+            + "LEFT JOIN (SELECT user_id, count(*) AS n FROM comments GROUP BY user_id) c ON c.user_id = u.id "
+            + "WHERE u.is_active = true";
+
+    private static final String REFRESH_SQL = "SELECT u.id, u.first_name, u.last_name, "
+            + "(SELECT count(*) FROM posts p WHERE p.user_id = u.id) "
+            + "+ (SELECT count(*) FROM comments c WHERE c.user_id = u.id) AS activity "
+            + "FROM users u WHERE u.is_active = true AND u.id IN (%s)";
+
+    /** One indexed user. Replaced, never changed, when the name changes; only activity moves. */
+    public static final class Indexed {
+        private final long userId;
+        private final String firstName;
+        private final String lastName;
+        private final AtomicInteger activity;
+        private volatile boolean removed;
+
+        private Indexed(long userId, String firstName, String lastName, int activity) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.activity = new AtomicInteger(activity);
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public int getActivity() {
+            return activity.get();
+        }
+    }
+
+    private record Snapshot(String[] keys, Indexed[] users) {
+    }
+
+    private record Candidate(Indexed user, int activity) {
+    }
+
+    // Most active first; ties broken by name, then id, so results are stable
+    private static final Comparator<Candidate> RANK = Comparator.comparingInt(Candidate::activity).reversed()
+            .thenComparing(c -> c.user().lastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(c -> c.user().firstName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(c -> c.user().userId);
+
+    private final UserSearchConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate streamingTemplate;
+
+    private final Map<Long, Indexed> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Indexed> overlay = new ConcurrentSkipListMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Indexed[0]);
+    private volatile boolean built;
+    private volatile boolean rebuildRequested;
+    // Activity recorded since the running rebuild started its query; null between rebuilds
+    private volatile Map<Long, AtomicInteger> rebuildActivity;
+
+    public UserSearchIndex(UserSearchConfig config,
+                           JdbcTemplate jdbcTemplate,
+                           InvalidationBus invalidationBus,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationBus = invalidationBus;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(config.getRebuildFetchSize());
+        Gauge.builder("users.search.indexed", byId, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(REGION, key -> changed.add(Long.valueOf(key)), () -> rebuildRequested = true);
+    }
+
+    /** Call inside the transaction that registers, renames or deactivates the user. */
+    public void userChanged(Long userId) {
+        invalidationBus.invalidate(REGION, userId);
+    }
+
+    public void recordActivity(Long userId) {
+        Indexed user = byId.get(userId);
+        if (user != null) {
+            user.activity.incrementAndGet();
+        }
+        Map<Long, AtomicInteger> sinceRebuild = rebuildActivity;
+        if (sinceRebuild != null) {
+            sinceRebuild.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Up to {@code limit} users with a name starting with {@code prefix}, most active
+     * first. Empty until the first build has finished.
+     */
+    public List<Indexed> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return top(normalized, limit);
+    }
+
+    /**
+     * The user a mention handle such as {@code jane_doe} names: the most active user
+     * called exactly "Jane Doe" or "Doe Jane", or null when there is none.
+     */
+    public Long resolveMention(String handle) {
+        String name = normalize(handle.replace('_', ' '));
+        if (name.isEmpty()) {
+            return null;
+        }
+        List<Indexed> matches = top(name + SEPARATOR, 1);
+        return matches.isEmpty() ? null : matches.get(0).userId;
+    }
+
+    public static String mentionHandle(String firstName, String lastName) {
+        return (firstName.strip() + " " + lastName.strip()).replaceAll("\\s+", "_");
+    }
+
+    @Scheduled(fixedDelayString = "${user-search.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User search index rebuild failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-search.refresh-interval-ms:1000}",
+            initialDelayString = "${user-search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            // Also retries a failed startup build without waiting for the next full rebuild
+            if (rebuildRequested || !built) {
+                rebuild();
+            }
+            applyChanges();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User search index refresh failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        lock.lock();
+        try {
+            rebuildRequested = false;
+            Map<Long, AtomicInteger> sinceRebuild = new ConcurrentHashMap<>();
+            rebuildActivity = sinceRebuild;
+            List<Indexed> loaded = new ArrayList<>();
+            try {
+                readOnlyTransaction.executeWithoutResult(status ->
+                        streamingTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> loaded.add(fromRow(rs))));
+
+                Map<Long, Indexed> current = new HashMap<>(loaded.size() * 2);
+                for (Indexed user : loaded) {
+                    current.put(user.userId, user);
+                }
+                snapshot = buildSnapshot(loaded);
+                overlay.clear();
+                byId.clear();
+                byId.putAll(current);
+            } finally {
+                rebuildActivity = null;
+            }
+            // The query's counts replace the old ones, so deletions lower them; events counted
+            // while it ran are added back. Events from here on reach the new entries directly.
+            sinceRebuild.forEach((userId, recent) -> {
+                Indexed user = byId.get(userId);
+                if (user != null) {
+                    user.activity.addAndGet(recent.get());
+                }
+            });
+            built = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Rebuilt user search index with {} users in {} ms",
+                byId.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void applyChanges() {
+        if (changed.isEmpty() || !built) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+        Map<Long, Indexed> loaded = new HashMap<>();
+        try {
+            jdbcTemplate.query(String.format(REFRESH_SQL, String.join(",", Collections.nCopies(ids.size(), "?"))),
+                    (RowCallbackHandler) rs -> {
+                        Indexed user = fromRow(rs);
+                        loaded.put(user.userId, user);
+                    },
+                    ids.toArray());
+        } catch (DataAccessException e) {
+            changed.addAll(ids);
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            for (Long id : ids) {
+                Indexed previous = byId.get(id);
+                Indexed user = loaded.get(id);
+                if (previous != null && user != null
+                        && previous.firstName.equals(user.firstName) && previous.lastName.equals(user.lastName)) {
+                    continue;
+                }
+                if (previous != null) {
+                    previous.removed = true;
+                    byId.remove(id);
+                }
+                if (user != null) {
+                    byId.put(id, user);
+                    for (String key : keys(user)) {
+                        overlay.put(key, user);
+                    }
+                }
+            }
+            if (overlay.size() > config.getMaxOverlaySize() * 2) {
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Refreshed {} users in the search index", ids.size());
+    }
+
+    /** Merges the overlay into a new snapshot, dropping removed users. Caller holds the lock. */
+    private void compact() {
+        List<Indexed> users = new ArrayList<>(byId.values());
+        snapshot = buildSnapshot(users);
+        overlay.clear();
+    }
+
+    private List<Indexed> top(String prefix, int limit) {
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, RANK.reversed());
+        // A user matches twice when the prefix fits both name orders
+        Set<Long> inHeap = new HashSet<>();
+
+        Snapshot current = snapshot;
+        int from = lowerBound(current.keys, prefix);
+        int to = lowerBound(current.keys, prefix + MAX_CHAR);
+        for (int i = from; i < to; i++) {
+            offer(heap, inHeap, current.users[i], limit);
+        }
+        for (Indexed user : overlay.subMap(prefix, prefix + MAX_CHAR).values()) {
+            offer(heap, inHeap, user, limit);
+        }
+
+        List<Candidate> ranked = new ArrayList<>(heap);
+        ranked.sort(RANK);
+        return ranked.stream().map(Candidate::user).toList();
+    }
+
+    private static void offer(PriorityQueue<Candidate> heap, Set<Long> inHeap, Indexed user, int limit) {
+        if (user.removed || inHeap.contains(user.userId)) {
+            return;
+        }
+        Candidate candidate = new Candidate(user, user.activity.get());
+        if (heap.size() < limit) {
+            heap.add(candidate);
+            inHeap.add(user.userId);
+        } else if (RANK.compare(candidate, heap.peek()) < 0) {
+            inHeap.remove(heap.poll().user().userId);
+            heap.add(candidate);
+            inHeap.add(user.userId);
+        }
+    }
+
+    private static Snapshot buildSnapshot(List<Indexed> users) {
+        String[] keys = new String[users.size() * 2];
+        Indexed[] owners = new Indexed[keys.length];
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < users.size(); i++) {
+            String[] userKeys = keys(users.get(i));
+            keys[2 * i] = userKeys[0];
+            keys[2 * i + 1] = userKeys[1];
+            order[2 * i] = 2 * i;
+            order[2 * i + 1] = 2 * i + 1;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+
+        String[] sortedKeys = new String[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            owners[i] = users.get(order[i] / 2);
+        }
+        return new Snapshot(sortedKeys, owners);
+    }
+
+    private static String[] keys(Indexed user) {
+        String first = normalize(user.firstName);
+        String last = normalize(user.lastName);
+        String suffix = SEPARATOR + Long.toString(user.userId);
+        return new String[]{first + " " + last + suffix, last + " " + first + suffix};
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Indexed fromRow(ResultSet rs) throws SQLException {
+        return new Indexed(rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"),
+                (int) Math.min(Integer.MAX_VALUE, rs.getLong("activity")));
+    }
+}
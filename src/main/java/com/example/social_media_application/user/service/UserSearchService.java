@@ -0,0 +1,28 @@
+package com.example.social_media_application.user.service;
+
+import com.example.social_media_application.config.UserSearchConfig;
+import com.example.social_media_application.user.dto.UserSearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    private final UserSearchIndex userSearchIndex;
+    private final UserSearchConfig userSearchConfig;
+
+    public List<UserSearchResult> search(String prefix, int limit) {
+        int size = Math.max(1, Math.min(limit, userSearchConfig.getMaxResults()));
+        return userSearchIndex.search(prefix, size).stream()
+                .map(user -> UserSearchResult.builder()
+                        .id(user.getUserId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .mention(UserSearchIndex.mentionHandle(user.getFirstName(), user.getLastName()))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.dto.UserResponse;
+import com.example.social_media_application.common.web.UserDictionary;
+import com.example.social_media_application.post.dto.PostResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares payload size and encode time of a feed page (20 posts, up to 30 likes each,
+ * drawn from 50 users) as plain JSON, CBOR and Smile, and as CBOR/Smile with the
+ * per-response user dictionary that binary clients receive.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BinaryEncodingBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int RUNS = 1_000;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final CBORMapper cbor = CBORMapper.builder().build();
+    private final SmileMapper smile = SmileMapper.builder().build();
+
+    @Test
+    void userDictionaryShrinksFeedPage() {
+        List<PostResponse> page = feedPage();
+
+        byte[] jsonBytes = json.writeValueAsBytes(page);
+        byte[] cborBytes = cbor.writeValueAsBytes(page);
+        byte[] smileBytes = smile.writeValueAsBytes(page);
+        byte[] cborPacked = cbor.writeValueAsBytes(UserDictionary.pack(json.valueToTree(page)));
+        byte[] smilePacked = smile.writeValueAsBytes(UserDictionary.pack(json.valueToTree(page)));
+
+        report("json", jsonBytes.length, () -> json.writeValueAsBytes(page));
+        report("cbor", cborBytes.length, () -> cbor.writeValueAsBytes(page));
+        report("smile", smileBytes.length, () -> smile.writeValueAsBytes(page));
+        report("cbor+users", cborPacked.length, () -> encodePacked(cbor, page));
+        report("smile+users", smilePacked.length, () -> encodePacked(smile, page));
+
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        assertThat(cborPacked.length).isLessThan(jsonBytes.length / 2);
+        assertThat(smilePacked.length).isLessThan(jsonBytes.length / 2);
+    }
+
+    private byte[] encodePacked(ObjectMapper mapper, List<PostResponse> page) {
+        return mapper.writeValueAsBytes(UserDictionary.pack(json.valueToTree(page)));
+    }
+
+    private void report(String format, int size, Supplier<byte[]> encode) {
+        for (int i = 0; i < WARMUP; i++) {
+            encode.get();
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            encode.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-12s %7d bytes  median encode %6d us%n", format, size, samples[RUNS / 2] / 1_000);
+    }
+
+    private List<PostResponse> feedPage() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<UserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            users.add(UserResponse.builder()
+                    .id(id)
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .email("user" + id + "@example.com")
+                    .createdAt(now.minusDays(id))
+                    .build());
+        }
+        List<PostResponse> page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            List<UserResponse> likedBy = new ArrayList<>();
+            for (int j = 0; j < (i * 7) % 31; j++) {
+                likedBy.add(users.get((i + j * 3) % users.size()));
+            }
+            page.add(PostResponse.builder()
+                    .id(1_000L + i)
+                    .user(users.get(i % users.size()))
+                    .content("Post number " + i + " with a short body of text")
+                    .isPublic(true)
+                    .likeCount(likedBy.size())
+                    .commentCount(i % 5)
+                    .isLikedByCurrentUser(i % 2 == 0)
+                    .likedBy(likedBy)
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now.minusHours(i))
+                    .build());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.common.scheduler.ClusterJob;
+import com.example.social_media_application.common.scheduler.ClusterJobScheduler;
+import com.example.social_media_application.common.scheduler.JobCheckpointStore;
+import com.example.social_media_application.common.scheduler.JobContext;
+import com.example.social_media_application.config.SchedulerConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two schedulers sharing one database stand in for two nodes. They fire the same
+ * every-second cron and visit the shards in different orders, so one node regularly
+ * reaches a shard after the other has finished it for the same firing. Every shard must
+ * still run once per firing.
+ */
+@SpringBootTest
+class ClusterJobSchedulerTest {
+
+    private static final int SHARDS = 4;
+    private static final long RUN_MS = 3500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JobCheckpointStore checkpointStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String jobName = "test-" + UUID.randomUUID();
+
+    @AfterEach
+    void deleteCheckpoints() {
+        jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name = ?", jobName);
+    }
+
+    @Test
+    void eachShardRunsOncePerFiringAcrossNodes() throws Exception {
+        Map<Instant, Map<Integer, AtomicInteger>> runs = new ConcurrentHashMap<>();
+        ClusterJob job = new ClusterJob() {
+            @Override
+            public String getName() {
+                return jobName;
+            }
+
+            @Override
+            public String getCron() {
+                return "* * * * * *";
+            }
+
+            @Override
+            public int getShards() {
+                return SHARDS;
+            }
+
+            @Override
+            public void run(JobContext context) {
+                runs.computeIfAbsent(context.getScheduledAt(), at -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(context.getShard(), shard -> new AtomicInteger())
+                        .incrementAndGet();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        List<ClusterJobScheduler> nodes = List.of(node(job), node(job));
+        try {
+            nodes.forEach(ClusterJobScheduler::start);
+            Thread.sleep(RUN_MS);
+        } finally {
+            nodes.forEach(ClusterJobScheduler::shutdown);
+        }
+
+        assertThat(runs).hasSizeGreaterThanOrEqualTo(2);
+        runs.forEach((scheduledAt, shards) -> assertThat(shards.values())
+                .as("runs per shard of the firing at %s", scheduledAt)
+                .allSatisfy(count -> assertThat(count.get()).isEqualTo(1)));
+        assertThat(runs.values().stream().map(Map::size).collect(Collectors.toList())).contains(SHARDS);
+    }
+
+    @Test
+    void jobPoolAsLargeAsTheConnectionPoolIsRejected() throws Exception {
+        SchedulerConfig config = new SchedulerConfig();
+        config.setPoolSize(dataSource.unwrap(HikariConfigMXBean.class).getMaximumPoolSize());
+        ClusterJobScheduler scheduler = new ClusterJobScheduler(List.of(), dataSource, checkpointStore, config,
+                new SimpleMeterRegistry());
+        try {
+            assertThatThrownBy(scheduler::start)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("scheduler.pool-size");
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private ClusterJobScheduler node(ClusterJob job) {
+        return new ClusterJobScheduler(List.of(job), dataSource, checkpointStore, new SchedulerConfig(),
+                new SimpleMeterRegistry());
+    }
+}
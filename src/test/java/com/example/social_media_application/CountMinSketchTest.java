@@ -0,0 +1,54 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.common.sketch.CountMinSketch;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keys whose Java hash codes collide must still land in different cells, or a trending
+ * hashtag lends its count to every tag that shares its hashCode.
+ */
+class CountMinSketchTest {
+
+    @Test
+    void stringsWithTheSameHashCodeAreCountedApart() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        CountMinSketch sketch = new CountMinSketch(4096, 4);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("Aa");
+        }
+
+        assertThat(sketch.estimate("Aa")).isEqualTo(100);
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    void longsWithTheSameHashCodeAreCountedApart() {
+        long other = (1L << 32) | 1;
+        assertThat(Long.hashCode(other)).isEqualTo(Long.hashCode(0L));
+        CountMinSketch sketch = new CountMinSketch(4096, 4);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(0L);
+        }
+
+        assertThat(sketch.estimate(0L)).isEqualTo(100);
+        assertThat(sketch.estimate(other)).isZero();
+    }
+
+    @Test
+    void estimatesNeverUnderCount() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (int key = 0; key < 1000; key++) {
+            for (int i = 0; i <= key % 5; i++) {
+                sketch.increment("tag" + key);
+            }
+        }
+
+        for (int key = 0; key < 1000; key++) {
+            assertThat(sketch.estimate("tag" + key)).isGreaterThanOrEqualTo(key % 5 + 1);
+        }
+    }
+}
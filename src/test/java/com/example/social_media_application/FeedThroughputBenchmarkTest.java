@@ -0,0 +1,157 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.post.dto.PostRequest;
+import com.example.social_media_application.post.service.PostService;
+import com.example.social_media_application.security.CustomUserDetailsService;
+import com.example.social_media_application.security.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives {@code GET /posts} on the embedded server, once with Tomcat's platform worker
+ * pool and once with the {@code virtual-threads} profile. Both runs use the same
+ * connection pool, so the comparison shows where requests queue: at Tomcat's 200 workers
+ * or at the pool. Every feed request runs the ETag and page queries against the database.
+ * Errors are counted rather than failed on in the virtual run, since shedding requests
+ * that wait too long for a connection is what that profile does under overload.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FeedThroughputBenchmarkTest}; the virtual
+ * thread run is skipped below Java 21.
+ */
+@Tag("benchmark")
+class FeedThroughputBenchmarkTest {
+
+    private static final int POSTS = 100;
+    private static final int PAGES = 5;
+    private static final int CLIENTS = 400;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 4_000;
+    private static final int DB_CONNECTIONS = 20;
+
+    private record Result(double requestsPerSecond, long p50Micros, long p99Micros, int errors) {
+    }
+
+    @Test
+    void feedThroughputOnPlatformAndVirtualThreads() throws Exception {
+        Result platform = measure("dev");
+        report("platform", platform);
+        assertThat(platform.errors()).isZero();
+
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+");
+        Result virtual = measure("dev,virtual-threads");
+        report("virtual", virtual);
+        // Requests queue in Hikari instead of Tomcat here, and the profile gives up on a connection
+        // after 5 s; errors mean this machine cannot serve CLIENTS feeds at once within that
+        assertThat(virtual.requestsPerSecond()).isPositive();
+    }
+
+    private Result measure(String profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SocialMediaApplication.class)
+                .run("--spring.profiles.active=" + profiles,
+                        "--server.port=0",
+                        "--scheduler.enabled=false",
+                        "--spring.datasource.hikari.maximum-pool-size=" + DB_CONNECTIONS,
+                        "--jwt.secret=" + signingSecret())) {
+            String email = "bench-" + UUID.randomUUID() + "@example.com";
+            Long userId = context.getBean(UserRepository.class).save(User.builder()
+                    .firstName("Feed")
+                    .lastName("Reader")
+                    .email(email)
+                    .passwordHash("unused")
+                    .build()).getId();
+            try {
+                PostService postService = context.getBean(PostService.class);
+                for (int i = 0; i < POSTS; i++) {
+                    PostRequest request = new PostRequest();
+                    request.setContent("Benchmark post " + i);
+                    postService.createPost(request, email);
+                }
+                String token = context.getBean(JwtUtil.class)
+                        .generateToken(context.getBean(CustomUserDetailsService.class).loadUserByUsername(email));
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+                run(baseUrl, token, WARMUP_REQUESTS);
+                return run(baseUrl, token, REQUESTS);
+            } finally {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                jdbcTemplate.update("DELETE FROM posts WHERE user_id = ?", userId);
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            }
+        }
+    }
+
+    private Result run(String baseUrl, String token, int requests) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                try {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/posts?size=20&page=" + i % PAGES))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.shutdownNow();
+
+        Arrays.sort(latencies);
+        return new Result(requests / seconds, latencies[requests / 2] / 1_000,
+                latencies[requests * 99 / 100] / 1_000, errors.get());
+    }
+
+    // The dev secret is too short to sign tokens with, so each run signs its own
+    private static String signingSecret() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static void report(String mode, Result result) {
+        System.out.printf("%-8s %6.0f req/s  p50 %6d us  p99 %7d us  errors %d%n", mode,
+                result.requestsPerSecond(), result.p50Micros(), result.p99Micros(), result.errors());
+    }
+}
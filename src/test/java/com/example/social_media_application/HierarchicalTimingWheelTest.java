@@ -0,0 +1,58 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.common.concurrent.HierarchicalTimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Items must come out of the wheel on the first tick at or after their due time, however
+ * many levels they cascade through on the way and however far time jumps per advance.
+ * A small wheel (4 slots, 2 levels) makes every item above 16 ticks use the overflow.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void itemsExpireOnTheirTickAcrossLevels() {
+        long start = 1_000_000;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK_MS, 2, 2, start);
+        Random random = new Random(42);
+        List<Long> dueTimes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long due = start + 1 + random.nextInt(5000);
+            dueTimes.add(due);
+            assertThat(wheel.schedule(due, due)).isTrue();
+        }
+
+        long now = start;
+        int expired = 0;
+        while (expired < dueTimes.size()) {
+            now += TICK_MS * (1 + random.nextInt(3));
+            for (long due : wheel.advance(now)) {
+                assertThat(due).isLessThanOrEqualTo(now);
+                // Not held back past the advance after the one that reached it
+                assertThat(due).isGreaterThan(now - 4 * TICK_MS);
+                expired++;
+            }
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void dueItemsAreRejected() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 6, 3, 1000);
+
+        assertThat(wheel.schedule("past", 500)).isFalse();
+        assertThat(wheel.schedule("now", 1000)).isFalse();
+        assertThat(wheel.schedule("next", 1001)).isTrue();
+
+        assertThat(wheel.advance(1009)).isEmpty();
+        assertThat(wheel.advance(1010)).containsExactly("next");
+    }
+}
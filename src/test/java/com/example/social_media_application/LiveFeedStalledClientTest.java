@@ -0,0 +1,133 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.config.LiveConfig;
+import com.example.social_media_application.live.dto.LivePostResponse;
+import com.example.social_media_application.live.service.LiveConnection;
+import com.example.social_media_application.live.service.LiveFeedService;
+import com.example.social_media_application.live.service.LiveSubscriptionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Clients whose socket stops taking writes must not starve the others of sender threads.
+ * Every sender is blocked on a stalled client here; a healthy client must still get its
+ * update, and a stalled one must be told to resync once it reads again.
+ */
+class LiveFeedStalledClientTest {
+
+    private static final int SENDER_THREADS = 2;
+    private static final long TIMEOUT_MS = 5000;
+    private static final long BLOCK_MS = 30_000;
+
+    private static final AtomicInteger blockedWrites = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final LiveSubscriptionRegistry registry = new LiveSubscriptionRegistry();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LiveFeedService liveFeedService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (liveFeedService != null) {
+            liveFeedService.shutdown();
+        }
+    }
+
+    @Test
+    void stalledClientsDoNotStarveTheOthers() throws Exception {
+        LiveConfig config = new LiveConfig();
+        config.setSenderThreads(SENDER_THREADS);
+        config.setSendBufferSize(2);
+        config.setSendTimeLimitMs(100);
+        liveFeedService = new LiveFeedService(registry, null, null, config, meterRegistry);
+
+        RecordingEmitter stalledEmitter = new RecordingEmitter(release);
+        LiveConnection stalled = connect("stalled-1", stalledEmitter, config);
+        for (int i = 1; i < SENDER_THREADS; i++) {
+            connect("stalled-" + (i + 1), new RecordingEmitter(release), config);
+        }
+        flushUntil(() -> blockedWrites.get() == SENDER_THREADS);
+
+        RecordingEmitter healthyEmitter = new RecordingEmitter(null);
+        connect("healthy", healthyEmitter, config);
+        flushUntil(() -> healthyEmitter.events().contains("post"));
+        flushUntil(() -> meterRegistry.get("live.sender.stalled").gauge().value() == SENDER_THREADS);
+
+        // The stalled client keeps buffering while its write is stuck, and overflows
+        for (long id = 10; id < 15; id++) {
+            stalled.offerPost(LivePostResponse.builder().id(id).build());
+        }
+        release.countDown();
+
+        flushUntil(() -> stalledEmitter.events().contains("resync"));
+        assertThat(meterRegistry.get("live.sender.stalled").gauge().value()).isZero();
+    }
+
+    private LiveConnection connect(String id, SseEmitter emitter, LiveConfig config) {
+        LiveConnection connection = new LiveConnection(id, 1L, emitter, config.getSendBufferSize());
+        connection.offerPost(LivePostResponse.builder().id(1L).build());
+        registry.register(connection);
+        return connection;
+    }
+
+    private void flushUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            liveFeedService.flushConnections();
+            Thread.sleep(20);
+        }
+    }
+
+    /** Records the event names it is sent; with a latch, every write blocks until it opens. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch blockUntil;
+        private final Queue<String> names = new ConcurrentLinkedQueue<>();
+
+        private RecordingEmitter(CountDownLatch blockUntil) {
+            this.blockUntil = blockUntil;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blockUntil != null && blockUntil.getCount() > 0) {
+                blockedWrites.incrementAndGet();
+                try {
+                    blockUntil.await(BLOCK_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            String event = builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining());
+            if (event.startsWith("event:")) {
+                names.add(event.substring("event:".length(), event.indexOf('\n')));
+            }
+        }
+
+        private List<String> events() {
+            return List.copyOf(names);
+        }
+    }
+}
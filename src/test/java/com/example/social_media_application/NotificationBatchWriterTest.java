@@ -0,0 +1,112 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.notification.service.NotificationEventConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Notifications written from outbox events against the real database. The relay
+ * redelivers whole batches, and coalescing has to work across batches, since under
+ * real traffic a dispatcher batch rarely holds two likes of the same post.
+ */
+@SpringBootTest
+class NotificationBatchWriterTest {
+
+    private static final long POST_ID = 42;
+
+    @Autowired
+    private NotificationEventConsumer notificationEventConsumer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        eventIds.forEach(id -> jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ?", id));
+        userIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    @Test
+    void redeliveredEventsAreWrittenOnce() {
+        Long recipient = createUser();
+        List<DomainEvent> batch = List.of(liked(recipient, createUser()), liked(recipient, createUser()));
+
+        notificationEventConsumer.onEvents(batch);
+        notificationEventConsumer.onEvents(batch);
+
+        assertThat(inbox(recipient)).singleElement()
+                .satisfies(row -> assertThat(row.get("actor_count")).isEqualTo(2));
+    }
+
+    @Test
+    void laterBatchesMergeIntoTheUnreadRow() {
+        Long recipient = createUser();
+        Long first = createUser();
+        Long second = createUser();
+
+        notificationEventConsumer.onEvents(List.of(liked(recipient, first)));
+        Long firstRowId = (Long) inbox(recipient).get(0).get("id");
+        notificationEventConsumer.onEvents(List.of(liked(recipient, second)));
+
+        // One row, moved to the top with a new id, naming the latest actor
+        assertThat(inbox(recipient)).singleElement().satisfies(row -> {
+            assertThat(row.get("actor_count")).isEqualTo(2);
+            assertThat(row.get("last_actor_id")).isEqualTo(second);
+            assertThat((Long) row.get("id")).isGreaterThan(firstRowId);
+        });
+
+        // A row the recipient has read is left alone
+        jdbcTemplate.update("UPDATE notifications SET read_at = now() WHERE recipient_id = ?", recipient);
+        notificationEventConsumer.onEvents(List.of(liked(recipient, createUser())));
+        assertThat(inbox(recipient)).extracting(row -> row.get("actor_count")).containsExactly(1, 2);
+    }
+
+    private DomainEvent liked(Long recipientId, Long actorId) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO outbox_events (event_type, post_id, actor_id, recipient_id) "
+                + "VALUES ('POST_LIKED', ?, ?, ?) RETURNING id", Long.class, POST_ID, actorId, recipientId);
+        eventIds.add(id);
+        return DomainEvent.builder()
+                .id(id)
+                .type(DomainEventType.POST_LIKED)
+                .postId(POST_ID)
+                .actorId(actorId)
+                .recipientId(recipientId)
+                .build();
+    }
+
+    private List<Map<String, Object>> inbox(Long recipientId) {
+        return jdbcTemplate.queryForList("SELECT id, actor_count, last_actor_id FROM notifications "
+                + "WHERE recipient_id = ? ORDER BY id DESC", recipientId);
+    }
+
+    private Long createUser() {
+        User user = userRepository.save(User.builder()
+                .firstName("Notified")
+                .lastName("User")
+                .email("notified-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .build());
+        userIds.add(user.getId());
+        return user.getId();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.event.model.DomainEvent;
+import com.example.social_media_application.event.model.DomainEventType;
+import com.example.social_media_application.event.service.DomainEventConsumer;
+import com.example.social_media_application.event.service.DomainEventDispatcher;
+import com.example.social_media_application.event.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A consumer that always fails on one event must not hold back the events batched with
+ * it, and the event must stop being relayed once it has used up its attempts.
+ */
+@SpringBootTest(properties = {
+        "events.max-attempts=3",
+        "events.retry-backoff-ms=50",
+        "events.max-retry-backoff-ms=100",
+        "events.relay-grace-ms=0",
+        "events.relay-interval-ms=100"
+})
+class OutboxDeadLetterTest {
+
+    private static final long TIMEOUT_MS = 30_000;
+    private static final long QUIET_MS = 1000;
+
+    // Posts that do not exist, so no other consumer does anything with their events
+    private static final long BLOCKER_POST_ID = -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2);
+    private static final long INNOCENT_POST_ID = BLOCKER_POST_ID - 1;
+    private static final long POISON_POST_ID = BLOCKER_POST_ID - 2;
+
+    private static final CountDownLatch blocking = new CountDownLatch(1);
+    private static final CountDownLatch unblock = new CountDownLatch(1);
+    private static final AtomicInteger poisonDeliveries = new AtomicInteger();
+    private static volatile int largestPoisonBatch;
+
+    @TestConfiguration
+    static class PoisonConsumer {
+
+        @Bean
+        DomainEventConsumer poisonConsumer() {
+            return new DomainEventConsumer() {
+                @Override
+                public String getName() {
+                    return "poison";
+                }
+
+                @Override
+                public void onEvents(List<DomainEvent> events) {
+                    for (DomainEvent event : events) {
+                        if (event.getPostId() == BLOCKER_POST_ID && blocking.getCount() > 0) {
+                            blocking.countDown();
+                            await(unblock);
+                        }
+                    }
+                    for (DomainEvent event : events) {
+                        if (event.getPostId() == POISON_POST_ID) {
+                            poisonDeliveries.incrementAndGet();
+                            largestPoisonBatch = Math.max(largestPoisonBatch, events.size());
+                            throw new IllegalStateException("poison event " + event.getId());
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private DomainEventDispatcher dispatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        unblock.countDown();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE post_id IN (?, ?, ?)",
+                BLOCKER_POST_ID, INNOCENT_POST_ID, POISON_POST_ID);
+    }
+
+    @Test
+    void poisonEventIsParkedAndTheRestOfItsBatchIsDelivered() throws Exception {
+        double parkedBefore = meterRegistry.counter("domain.events.dead.lettered").count();
+        DomainEvent blocker = record(BLOCKER_POST_ID);
+        DomainEvent innocent = record(INNOCENT_POST_ID);
+        DomainEvent poison = record(POISON_POST_ID);
+
+        // Hold the dispatcher so the next two events are drained as one batch
+        dispatcher.enqueue(blocker);
+        assertThat(blocking.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        dispatcher.enqueue(innocent);
+        dispatcher.enqueue(poison);
+        unblock.countDown();
+
+        waitFor(() -> outboxRow(poison).get("failed_at") != null);
+
+        assertThat(largestPoisonBatch).isGreaterThan(1);
+        assertThat(outboxRow(innocent).get("dispatched_at")).isNotNull();
+        assertThat(outboxRow(innocent).get("attempts")).isEqualTo(0);
+        assertThat(outboxRow(poison).get("dispatched_at")).isNull();
+        assertThat(outboxRow(poison).get("attempts")).isEqualTo(3);
+        assertThat(meterRegistry.counter("domain.events.dead.lettered").count()).isGreaterThan(parkedBefore);
+
+        // Parked events are not relayed again
+        int deliveries = poisonDeliveries.get();
+        Thread.sleep(QUIET_MS);
+        assertThat(poisonDeliveries.get()).isEqualTo(deliveries);
+    }
+
+    private DomainEvent record(long postId) {
+        return new TransactionTemplate(transactionManager).execute(status -> outboxService.record(DomainEvent.builder()
+                .type(DomainEventType.POST_UPDATED)
+                .postId(postId)
+                .build()));
+    }
+
+    private Map<String, Object> outboxRow(DomainEvent event) {
+        return jdbcTemplate.queryForMap("SELECT attempts, dispatched_at, failed_at FROM outbox_events WHERE id = ?",
+                event.getId());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.common.util.PackedCounters;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lanes must read back exactly what was added to them, whatever the other lanes hold,
+ * and a value with every lane full must still be a non-negative long.
+ */
+class PackedCountersTest {
+
+    @Test
+    void lanesAreIndependent() {
+        long packed = 5 * PackedCounters.unit(0) + 7 * PackedCounters.unit(1) + 11 * PackedCounters.unit(2);
+
+        assertThat(PackedCounters.get(packed, 0)).isEqualTo(5);
+        assertThat(PackedCounters.get(packed, 1)).isEqualTo(7);
+        assertThat(PackedCounters.get(packed, 2)).isEqualTo(11);
+
+        packed -= 7 * PackedCounters.unit(1);
+        assertThat(PackedCounters.get(packed, 0)).isEqualTo(5);
+        assertThat(PackedCounters.get(packed, 1)).isZero();
+        assertThat(PackedCounters.get(packed, 2)).isEqualTo(11);
+    }
+
+    @Test
+    void fullLanesDoNotTouchTheirNeighbours() {
+        long full = PackedCounters.LANE_MAX * PackedCounters.unit(1);
+
+        assertThat(PackedCounters.get(full, 0)).isZero();
+        assertThat(PackedCounters.get(full, 1)).isEqualTo((int) PackedCounters.LANE_MAX);
+        assertThat(PackedCounters.get(full, 2)).isZero();
+    }
+
+    @Test
+    void everyLaneFullIsStillNonNegative() {
+        long packed = 0;
+        for (int lane = 0; lane < PackedCounters.LANES; lane++) {
+            packed += PackedCounters.LANE_MAX * PackedCounters.unit(lane);
+        }
+
+        assertThat(packed).isEqualTo(Long.MAX_VALUE);
+        for (int lane = 0; lane < PackedCounters.LANES; lane++) {
+            assertThat(PackedCounters.get(packed, lane)).isEqualTo((int) PackedCounters.LANE_MAX);
+        }
+    }
+
+    @Test
+    void lanesOutsideTheValueAreRejected() {
+        assertThat(PackedCounters.shift(PackedCounters.LANES - 1)).isEqualTo(42);
+        assertThatThrownBy(() -> PackedCounters.shift(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackedCounters.unit(PackedCounters.LANES)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackedCounters.get(0L, PackedCounters.LANES)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.post.dto.PostRequest;
+import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.repository.PostViewState;
+import com.example.social_media_application.post.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent GET /posts/{id} reads of one post must cost the statements of a single
+ * read. The reads run what PostController.getPostById runs on a snapshot miss, against
+ * the real database, and every statement prepared on a reader thread is counted and
+ * held for a moment so that the other readers arrive while it is in flight.
+ */
+@SpringBootTest
+class PostViewStateCoalescingTest {
+
+    private static final int READERS = 16;
+    private static final long HOLD_MS = 100;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static final Set<Thread> readerThreads = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger statements = new AtomicInteger();
+
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void concurrentReadsOfOnePostShareTheirQueries() throws Exception {
+        String email = "coalescing-" + UUID.randomUUID() + "@example.com";
+        userRepository.save(User.builder()
+                .firstName("Coalescing")
+                .lastName("Reader")
+                .email(email)
+                .passwordHash("unused")
+                .build());
+
+        PostRequest request = new PostRequest();
+        request.setContent("Read by many at once");
+        Long postId = postService.createPost(request, email).getId();
+
+        // The first read warms the summary and liked caches; the second is the baseline
+        runReads(1, postId, email);
+        int single = runReads(1, postId, email);
+        int concurrent = runReads(READERS, postId, email);
+
+        assertThat(single).isPositive();
+        assertThat(concurrent).isEqualTo(single);
+    }
+
+    private int runReads(int readers, Long postId, String email) throws Exception {
+        statements.set(0);
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<PostResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                futures.add(pool.submit(() -> {
+                    readerThreads.add(Thread.currentThread());
+                    try {
+                        start.await();
+                        PostViewState state = postService.getPostViewState(postId, email);
+                        assertThat(state).isNotNull();
+                        return postService.getPostById(postId, state);
+                    } finally {
+                        readerThreads.remove(Thread.currentThread());
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<PostResponse> future : futures) {
+                assertThat(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getId()).isEqualTo(postId);
+            }
+            return statements.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return count(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return count(super.getConnection(username, password));
+        }
+
+        private static Connection count(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (readerThreads.contains(Thread.currentThread())
+                                && (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall"))) {
+                            statements.incrementAndGet();
+                            Thread.sleep(HOLD_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.common.util.PackedCounters;
+import com.example.social_media_application.post.dto.ReactionResponse;
+import com.example.social_media_application.post.model.Post;
+import com.example.social_media_application.post.model.ReactionType;
+import com.example.social_media_application.post.repository.PostRepository;
+import com.example.social_media_application.post.service.ReactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reactions against the real database. The totals on the post are only ever adjusted,
+ * never recounted, so after any interleaving of changes they must still match the rows.
+ */
+@SpringBootTest
+class ReactionServiceTest {
+
+    private static final int USERS = 12;
+    private static final int THREADS_PER_USER = 2;
+    private static final int CHANGES_PER_THREAD = 40;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM posts WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void concurrentChangesKeepTheTotalsInStepWithTheRows() throws Exception {
+        Long postId = createPost(createUser());
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            emails.add(createUser().getEmail());
+        }
+
+        // Two threads per user, so a user's own changes race each other too
+        ExecutorService pool = Executors.newFixedThreadPool(USERS * THREADS_PER_USER);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < USERS * THREADS_PER_USER; i++) {
+                String email = emails.get(i % USERS);
+                Random random = new Random(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int change = 0; change < CHANGES_PER_THREAD; change++) {
+                        switch (random.nextInt(3)) {
+                            case 0 -> reactionService.react(postId,
+                                    ReactionType.values()[random.nextInt(ReactionType.values().length)], email);
+                            case 1 -> reactionService.removeReaction(postId, email);
+                            default -> reactionService.toggleLike(postId, email);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT reaction_counts, like_count FROM posts WHERE id = ?", postId);
+        long packed = (Long) totals.get("reaction_counts");
+        for (ReactionType type : ReactionType.values()) {
+            int rows = rows(postId, type);
+            int total = type.hasLane() ? PackedCounters.get(packed, type.getCode()) : (Integer) totals.get("like_count");
+            assertThat(total).as("total of %s", type).isEqualTo(rows);
+        }
+    }
+
+    @Test
+    void fullLaneStaysFull() {
+        Long postId = createPost(createUser());
+        String email = createUser().getEmail();
+        int love = ReactionType.LOVE.getCode();
+        jdbcTemplate.update("UPDATE posts SET reaction_counts = ? WHERE id = ?",
+                PackedCounters.LANE_MAX * PackedCounters.unit(love), postId);
+
+        ReactionResponse loved = reactionService.react(postId, ReactionType.LOVE, email);
+        assertThat(loved.getReactions().get(ReactionType.LOVE)).isEqualTo((int) PackedCounters.LANE_MAX);
+
+        // Its increment was dropped, so neither may its decrement be applied
+        ReactionResponse laughed = reactionService.react(postId, ReactionType.LAUGH, email);
+        assertThat(laughed.getReactions().get(ReactionType.LOVE)).isEqualTo((int) PackedCounters.LANE_MAX);
+        assertThat(laughed.getReactions().get(ReactionType.LAUGH)).isEqualTo(1);
+
+        ReactionResponse removed = reactionService.removeReaction(postId, email);
+        assertThat(removed.getReactions().get(ReactionType.LOVE)).isEqualTo((int) PackedCounters.LANE_MAX);
+        assertThat(removed.getReactions().get(ReactionType.LAUGH)).isZero();
+    }
+
+    private int rows(Long postId, ReactionType type) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM post_reactions WHERE post_id = ? AND reaction = ?",
+                Integer.class, postId, type.getCode());
+        return rows != null ? rows : 0;
+    }
+
+    private User createUser() {
+        User user = userRepository.save(User.builder()
+                .firstName("Reacting")
+                .lastName("User")
+                .email("reaction-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .build());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private Long createPost(User owner) {
+        return postRepository.save(Post.builder()
+                .user(owner)
+                .content("Reacted to by many at once")
+                .isPublic(true)
+                .build()).getId();
+    }
+}
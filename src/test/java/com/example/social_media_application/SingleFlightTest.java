@@ -0,0 +1,124 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.common.concurrent.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent readers of one key must cost one load no matter how many there are. The
+ * loader stands in for the database: it counts its invocations and stays in flight
+ * until every other reader has joined it.
+ */
+class SingleFlightTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64, 256})
+    void concurrentReadersShareOneLoad(int readers) throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight<Long, Object> flight = new SingleFlight<>("test", registry);
+        AtomicInteger queries = new AtomicInteger();
+
+        List<Object> results = runConcurrently(readers, () -> flight.execute(42L, () -> {
+            queries.incrementAndGet();
+            awaitFollowers(registry, readers - 1);
+            return new Object();
+        }));
+
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(results).hasSize(readers).allSatisfy(result -> assertThat(result).isSameAs(results.get(0)));
+        assertThat(registry.get("singleflight.coalescing.ratio").tag("name", "test").gauge().value())
+                .isEqualTo((readers - 1) / (double) readers);
+    }
+
+    @Test
+    void followersReceiveTheLeadersException() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight<Long, Object> flight = new SingleFlight<>("test", registry);
+        AtomicInteger queries = new AtomicInteger();
+        int readers = 16;
+
+        List<Object> results = runConcurrently(readers, () -> {
+            try {
+                return flight.execute(42L, () -> {
+                    queries.incrementAndGet();
+                    awaitFollowers(registry, readers - 1);
+                    throw new IllegalStateException("not found");
+                });
+            } catch (IllegalStateException e) {
+                return e;
+            }
+        });
+
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(result -> assertThat(result).isInstanceOf(IllegalStateException.class));
+
+        // A failed flight is not remembered
+        assertThat(flight.execute(42L, () -> "loaded")).isEqualTo("loaded");
+        assertThat(queries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void completedLoadsAreNotCached() {
+        SingleFlight<Long, Integer> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger queries = new AtomicInteger();
+
+        flight.execute(1L, queries::incrementAndGet);
+        flight.execute(1L, queries::incrementAndGet);
+        flight.execute(2L, queries::incrementAndGet);
+
+        assertThat(queries.get()).isEqualTo(3);
+        assertThatThrownBy(() -> flight.execute(1L, () -> {
+            throw new IllegalArgumentException("boom");
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Object> runConcurrently(int readers, Callable<Object> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitFollowers(MeterRegistry registry, int followers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (registry.get("singleflight.calls").tags("name", "test", "role", "follower").counter().count() < followers) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("followers did not arrive");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.social_media_application;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures cold start (JVM launch to refreshed context) in fresh JVMs for the
+ * default profile and for the prod-startup profile. If the CDS archive from
+ * {@code mvn -Pproduction-startup package} exists, it is measured as a third variant.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final String MAIN_CLASS = SocialMediaApplication.class.getName();
+
+    @Test
+    void prodStartupProfileStartsNoSlowerThanDefault() throws Exception {
+        long defaultMs = medianStartup(List.of(), "dev");
+        long prodStartupMs = medianStartup(List.of(), "dev,prod-startup");
+        System.out.printf("cold start: default %d ms, prod-startup %d ms%n", defaultMs, prodStartupMs);
+
+        File archive = Paths.get("target/cds-app/application.jsa").toFile();
+        if (archive.exists()) {
+            long cdsMs = medianStartup(List.of("-XX:SharedArchiveFile=" + archive.getPath()), "dev,prod-startup");
+            System.out.printf("cold start: prod-startup + CDS %d ms%n", cdsMs);
+        }
+
+        // Generous margin: the assertion only guards against regressions, not noise
+        assertThat(prodStartupMs).isLessThanOrEqualTo(defaultMs * 115 / 100);
+    }
+
+    private long medianStartup(List<String> jvmArgs, String profiles) throws IOException, InterruptedException {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            samples[i] = startOnce(jvmArgs, profiles);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private long startOnce(List<String> jvmArgs, String profiles) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-Dspring.profiles.active=" + profiles);
+        command.add("-Dmigration.mode=off");
+        command.add(MAIN_CLASS);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.security.StompAuthChannelInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Comment topics are written by the server only: an authenticated client must not be able
+ * to publish a fake comment event straight to the broker.
+ */
+class StompAuthChannelInterceptorTest {
+
+    // SEND and MESSAGE frames never touch the JWT or the repositories
+    private final StompAuthChannelInterceptor interceptor = new StompAuthChannelInterceptor(null, null, null, null);
+
+    @Test
+    void clientSendToTopicIsRejected() {
+        Message<byte[]> send = frame(StompCommand.SEND, "/topic/posts/1/comments");
+
+        assertThatThrownBy(() -> interceptor.preSend(send, null)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void clientMessageFrameIsRejected() {
+        Message<byte[]> message = frame(StompCommand.MESSAGE, "/topic/posts/1/comments");
+
+        assertThatThrownBy(() -> interceptor.preSend(message, null)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void clientSendToApplicationDestinationIsAllowed() {
+        Message<byte[]> send = frame(StompCommand.SEND, "/app/ping");
+
+        assertThat(interceptor.preSend(send, null)).isSameAs(send);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken("alice@example.com", null, List.of()));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
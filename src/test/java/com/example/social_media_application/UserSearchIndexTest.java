@@ -0,0 +1,161 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.post.model.Post;
+import com.example.social_media_application.post.repository.PostRepository;
+import com.example.social_media_application.user.service.UserSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookups against the real users table. Every test names its users with a random last
+ * name, so the prefixes it searches match only them whatever else is in the database.
+ */
+@SpringBootTest
+class UserSearchIndexTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String lastName = randomName();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM posts WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void prefixesMatchEitherNameOrderRankedByActivity() {
+        User ada = createUser("Ada", lastName, 1);
+        User adam = createUser("Adam", lastName, 3);
+        User bob = createUser("Bob", lastName, 0);
+        userSearchIndex.scheduledRebuild();
+
+        assertThat(ids(userSearchIndex.search(lastName, 10))).containsExactly(adam.getId(), ada.getId(), bob.getId());
+        assertThat(ids(userSearchIndex.search("  ADA   " + lastName.substring(0, 3), 10))).containsExactly(ada.getId());
+        assertThat(ids(userSearchIndex.search("ada", 100))).contains(ada.getId(), adam.getId()).doesNotContain(bob.getId());
+        assertThat(ids(userSearchIndex.search(lastName + " b", 10))).containsExactly(bob.getId());
+        assertThat(ids(userSearchIndex.search(lastName, 2))).containsExactly(adam.getId(), ada.getId());
+        assertThat(userSearchIndex.search(lastName + "x", 10)).isEmpty();
+    }
+
+    @Test
+    void overlayIsMergedWithTheSnapshot() {
+        User ada = createUser("Ada", lastName, 2);
+        User bob = createUser("Bob", lastName, 0);
+        userSearchIndex.scheduledRebuild();
+
+        // Registered and renamed after the build, so only the overlay has them
+        User cleo = createUser("Cleo", lastName, 1);
+        userSearchIndex.userChanged(cleo.getId());
+        bob.setFirstName("Bert");
+        userRepository.save(bob);
+        userSearchIndex.userChanged(bob.getId());
+
+        awaitIndexed(() -> ids(userSearchIndex.search(lastName, 10)).size() == 3
+                && !userSearchIndex.search("bert " + lastName, 1).isEmpty());
+        assertThat(ids(userSearchIndex.search(lastName, 10))).containsExactly(ada.getId(), cleo.getId(), bob.getId());
+        assertThat(userSearchIndex.search("bob " + lastName, 10)).isEmpty();
+
+        // Activity counted since the build reorders snapshot and overlay entries alike
+        userSearchIndex.recordActivity(bob.getId());
+        userSearchIndex.recordActivity(bob.getId());
+        userSearchIndex.recordActivity(bob.getId());
+        assertThat(ids(userSearchIndex.search(lastName, 10))).containsExactly(bob.getId(), ada.getId(), cleo.getId());
+    }
+
+    @Test
+    void mentionsResolveToTheMostActiveNamesake() {
+        createUser("Jane", lastName, 1);
+        User busier = createUser("Jane", lastName, 2);
+        User john = createUser("John", lastName, 0);
+        userSearchIndex.scheduledRebuild();
+
+        assertThat(userSearchIndex.resolveMention("jane_" + lastName)).isEqualTo(busier.getId());
+        assertThat(userSearchIndex.resolveMention(UserSearchIndex.mentionHandle(" John ", lastName))).isEqualTo(john.getId());
+        assertThat(userSearchIndex.resolveMention(lastName + "_John")).isEqualTo(john.getId());
+        // A handle names a whole name, not a prefix of one
+        assertThat(userSearchIndex.resolveMention("jan_" + lastName)).isNull();
+        assertThat(userSearchIndex.resolveMention("_")).isNull();
+    }
+
+    @Test
+    void rebuildLowersActivityOfDeletedPosts() {
+        User ada = createUser("Ada", lastName, 3);
+        userSearchIndex.scheduledRebuild();
+        assertThat(userSearchIndex.search(lastName, 1).get(0).getActivity()).isEqualTo(3);
+
+        jdbcTemplate.update("DELETE FROM posts WHERE id = (SELECT min(id) FROM posts WHERE user_id = ?)", ada.getId());
+        userSearchIndex.scheduledRebuild();
+
+        assertThat(userSearchIndex.search(lastName, 1).get(0).getActivity()).isEqualTo(2);
+    }
+
+    private User createUser(String firstName, String lastName, int posts) {
+        User user = userRepository.save(User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(randomName() + "@example.com")
+                .passwordHash("unused")
+                .build());
+        userIds.add(user.getId());
+        for (int i = 0; i < posts; i++) {
+            postRepository.save(Post.builder()
+                    .user(user)
+                    .content("Post " + i)
+                    .isPublic(true)
+                    .build());
+        }
+        return user;
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Indexed> users) {
+        return users.stream().map(UserSearchIndex.Indexed::getUserId).toList();
+    }
+
+    // Changes are applied by the index's refresh, which also runs on its own schedule
+    private void awaitIndexed(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("index did not pick up the changes");
+            }
+            userSearchIndex.refresh();
+        }
+    }
+
+    private static String randomName() {
+        StringBuilder name = new StringBuilder("Zq");
+        for (int i = 0; i < 10; i++) {
+            name.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return name.toString();
+    }
+}
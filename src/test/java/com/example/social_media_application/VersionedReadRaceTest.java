@@ -0,0 +1,208 @@
+package com.example.social_media_application;
+
+import com.example.social_media_application.auth.model.User;
+import com.example.social_media_application.auth.repository.UserRepository;
+import com.example.social_media_application.comment.dto.CommentRequest;
+import com.example.social_media_application.comment.dto.CommentResponse;
+import com.example.social_media_application.comment.repository.CommentsVersion;
+import com.example.social_media_application.comment.service.CommentService;
+import com.example.social_media_application.post.dto.PostRequest;
+import com.example.social_media_application.post.dto.PostResponse;
+import com.example.social_media_application.post.repository.PostViewState;
+import com.example.social_media_application.post.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A reader that looked up the post-write version must not be answered by a load that
+ * started before the write, or the stale body goes out under the new ETag and every
+ * later If-None-Match is a 304 on it. The first reader's load has read everything but is
+ * held at its commit while the write happens and the second reader comes in.
+ */
+@SpringBootTest
+class VersionedReadRaceTest {
+
+    private static final long JOIN_WAIT_MS = 1000;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static volatile Thread heldThread;
+    private static volatile CountDownLatch loading = new CountDownLatch(1);
+    private static volatile CountDownLatch release = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class StatementHolding {
+
+        @Bean
+        static BeanPostProcessor statementHoldingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new HoldingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private Long userId;
+
+    @AfterEach
+    void cleanUp() {
+        release.countDown();
+        pool.shutdownNow();
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM posts WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void postWrittenDuringALoadIsNotServedUnderItsNewVersion() throws Exception {
+        String email = createUser();
+        Long postId = postService.createPost(postRequest("Before"), email).getId();
+
+        PostViewState before = postService.getPostViewState(postId, email);
+        Future<PostResponse> first = startHeld(() -> postService.getPostById(postId, before));
+
+        postService.updatePost(postId, postRequest("After"), email);
+        PostViewState after = postService.getPostViewState(postId, email);
+        assertThat(after.seq()).isNotEqualTo(before.seq());
+        PostResponse second = readWhileHeld(() -> postService.getPostById(postId, after));
+
+        assertThat(second.getContent()).isEqualTo("After");
+        assertThat(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getContent()).isEqualTo("Before");
+    }
+
+    @Test
+    void commentWrittenDuringALoadIsNotMissingUnderItsNewVersion() throws Exception {
+        String email = createUser();
+        Long postId = postService.createPost(postRequest("Commented on"), email).getId();
+
+        CommentsVersion before = commentService.getCommentsVersion(postId, email);
+        Future<List<CommentResponse>> first = startHeld(() -> commentService.getCommentsByPost(postId, before));
+
+        CommentRequest comment = new CommentRequest();
+        comment.setContent("Written during the load");
+        commentService.createComment(postId, comment, email);
+        CommentsVersion after = commentService.getCommentsVersion(postId, email);
+        assertThat(commentService.getCommentsEtag(postId, after)).isNotEqualTo(commentService.getCommentsEtag(postId, before));
+        List<CommentResponse> second = readWhileHeld(() -> commentService.getCommentsByPost(postId, after));
+
+        assertThat(second).extracting(CommentResponse::getContent).containsExactly("Written during the load");
+        assertThat(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    // Runs the read on a thread whose commit blocks until release, once its load has read the post
+    private <T> Future<T> startHeld(Callable<T> read) throws InterruptedException {
+        loading = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        Future<T> future = pool.submit(() -> {
+            heldThread = Thread.currentThread();
+            try {
+                return read.call();
+            } finally {
+                heldThread = null;
+            }
+        });
+        assertThat(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    // A read that joined the held load only finishes once it is released
+    private <T> T readWhileHeld(Callable<T> read) throws Exception {
+        Future<T> future = pool.submit(read);
+        try {
+            return future.get(JOIN_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            release.countDown();
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private String createUser() {
+        String email = "race-" + UUID.randomUUID() + "@example.com";
+        userId = userRepository.save(User.builder()
+                .firstName("Racing")
+                .lastName("Reader")
+                .email(email)
+                .passwordHash("unused")
+                .build()).getId();
+        return email;
+    }
+
+    private static PostRequest postRequest(String content) {
+        PostRequest request = new PostRequest();
+        request.setContent(content);
+        return request;
+    }
+
+    private static final class HoldingDataSource extends DelegatingDataSource {
+
+        private HoldingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return hold(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return hold(super.getConnection(username, password));
+        }
+
+        private static Connection hold(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (Thread.currentThread() == heldThread && method.getName().equals("commit")) {
+                            loading.countDown();
+                            release.await();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
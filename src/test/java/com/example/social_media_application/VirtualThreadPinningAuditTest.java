@@ -0,0 +1,50 @@
+package com.example.social_media_application;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blocking inside a {@code synchronized} block pins a virtual thread to its carrier
+ * (JDK 21-23), which defeats the virtual-thread mode. Request threads reach shared
+ * helpers in common/ and config/ as well as services, so no main source may use it;
+ * java.util.concurrent locks are used instead.
+ */
+class VirtualThreadPinningAuditTest {
+
+    private static final Path SOURCE_ROOT = Paths.get("src/main/java");
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    @Test
+    void mainSourcesDoNotUseSynchronized() throws IOException {
+        List<String> violations = new ArrayList<>();
+
+        try (Stream<Path> files = Files.walk(SOURCE_ROOT)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                List<String> lines = Files.readAllLines(file);
+                for (int i = 0; i < lines.size(); i++) {
+                    String line = lines.get(i).trim();
+                    if (line.startsWith("//") || line.startsWith("*") || line.startsWith("/*")) {
+                        continue;
+                    }
+                    if (SYNCHRONIZED.matcher(line).find()) {
+                        violations.add(SOURCE_ROOT.relativize(file) + ":" + (i + 1) + "  " + line);
+                    }
+                }
+            }
+        }
+
+        assertThat(violations)
+                .as("synchronized pins virtual threads; use ReentrantLock or concurrent collections")
+                .isEmpty();
+    }
+}